@@ -0,0 +1,7 @@
+package org.spring.generic.benchmark;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class BenchmarkApplication {
+}
@@ -0,0 +1,68 @@
+package org.spring.generic.benchmark;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+final class BenchmarkContext {
+
+    private static final int BATCH = 1000;
+
+    private final ConfigurableApplicationContext context;
+
+    private final MockMvc mockMvc;
+
+    private BenchmarkContext(ConfigurableApplicationContext context) {
+        this.context = context;
+        this.mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+    }
+
+    /**
+     * Boots the sample application on an in-memory H2 database seeded with {@code rows} items.
+     * The given {@code key=value} properties override {@code application.properties}.
+     */
+    static BenchmarkContext start(int rows, String... properties) {
+        String[] args = new String[properties.length];
+        for (int i = 0; i < properties.length; i++) {
+            args[i] = "--" + properties[i];
+        }
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BenchmarkApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .run(args);
+        ItemRepository repository = context.getBean(ItemRepository.class);
+        List<Item> items = new ArrayList<>(BATCH);
+        for (int i = 0; i < rows; i++) {
+            items.add(new Item("item-" + i, "Sample item number " + i, i % 1000, LocalDate.of(2025, 1, 1).plusDays(i % 365)));
+            if (items.size() == BATCH) {
+                repository.saveAll(items);
+                items.clear();
+            }
+        }
+        repository.saveAll(items);
+        return new BenchmarkContext(context);
+    }
+
+    int port() {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    MockMvc mockMvc() {
+        return mockMvc;
+    }
+
+    <B> B getBean(Class<B> type) {
+        return context.getBean(type);
+    }
+
+    void close() {
+        SpringApplication.exit(context);
+    }
+}
@@ -0,0 +1,95 @@
+package org.spring.generic.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Full GenericController to GenericService to GenericRepository round trips through MockMvc.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CrudBenchmark {
+
+    @Param({"10000"})
+    private int rows;
+
+    private BenchmarkContext application;
+
+    private MockMvc mockMvc;
+
+    @Setup
+    public void setUp() {
+        application = BenchmarkContext.start(rows);
+        mockMvc = application.mockMvc();
+    }
+
+    @TearDown
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse findById() throws Exception {
+        long id = ThreadLocalRandom.current().nextLong(1, rows + 1);
+        return mockMvc.perform(get("/items/{id}", id)).andReturn().getResponse();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse findAllList() throws Exception {
+        return mockMvc.perform(get("/items").param("isList", "true")).andReturn().getResponse();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse save() throws Exception {
+        return mockMvc.perform(post("/items").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"created\",\"description\":\"Created by benchmark\",\"quantity\":7}"))
+                .andReturn().getResponse();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse update() throws Exception {
+        long id = ThreadLocalRandom.current().nextLong(1, rows + 1);
+        return mockMvc.perform(put("/items").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"id\":" + id + ",\"name\":\"updated\",\"description\":\"Updated by benchmark\",\"quantity\":3}"))
+                .andReturn().getResponse();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse saveThenDelete() throws Exception {
+        String body = mockMvc.perform(post("/items").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"deleted\",\"quantity\":1}"))
+                .andReturn().getResponse().getContentAsString();
+        String id = body.substring(body.indexOf(':') + 1, body.indexOf(','));
+        return mockMvc.perform(delete("/items/{id}", id)).andReturn().getResponse();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse invalidIdError() throws Exception {
+        return mockMvc.perform(get("/items/{id}", -1)).andReturn().getResponse();
+    }
+}
@@ -0,0 +1,113 @@
+package org.spring.generic.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Page and list responses per {@code Accept} format. MockMvc bypasses the connector, so {@code gzip=true}
+ * compresses the body here the way {@code server.compression} would. The {@code bytes} counter is the size
+ * of the last response on the wire.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EncodingBenchmark {
+
+    @Param({"10000"})
+    private int rows;
+
+    @Param({"application/json", "application/x-jackson-smile", "application/cbor"})
+    private String format;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    @Param({"10", "1000"})
+    private int size;
+
+    private BenchmarkContext application;
+
+    private MockMvc mockMvc;
+
+    private final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class WireBytes {
+
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        application = BenchmarkContext.start(rows);
+        mockMvc = application.mockMvc();
+    }
+
+    @TearDown
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public int findAllPage(WireBytes wire) throws Exception {
+        byte[] body = mockMvc.perform(get("/items")
+                .param("size", String.valueOf(size))
+                .header(HttpHeaders.ACCEPT, format))
+                .andReturn().getResponse().getContentAsByteArray();
+        return wire(body, wire);
+    }
+
+    @Benchmark
+    public int findAllList(WireBytes wire) throws Exception {
+        byte[] body = mockMvc.perform(get("/items")
+                .param("isList", "true")
+                .param("stream", "true")
+                .param("filter", "quantity<" + size / 10)
+                .header(HttpHeaders.ACCEPT, format))
+                .andReturn().getResponse().getContentAsByteArray();
+        return wire(body, wire);
+    }
+
+    private int wire(byte[] body, WireBytes wire) throws IOException {
+        int length = body.length;
+        if (gzip) {
+            compressed.reset();
+            try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+                out.write(body);
+            }
+            length = compressed.size();
+        }
+        wire.bytes = length;
+        return length;
+    }
+}
@@ -0,0 +1,64 @@
+package org.spring.generic.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spring.generic.exception.InvalidIdException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.HttpRequestMethodNotSupportedException;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building and writing an error response, without the servlet and database around it.
+ * Run with the gc profiler (the default in {@link BenchmarkRunner}) to compare {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ErrorResponseBenchmark {
+
+    private ItemAdviceController advice;
+
+    private ObjectMapper objectMapper;
+
+    private ServletWebRequest request;
+
+    @Setup
+    public void setUp() {
+        advice = new ItemAdviceController();
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/items/123456");
+        request = new ServletWebRequest(servletRequest);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> invalidId() throws IOException {
+        ResponseEntity<?> response = advice.handleInvalidIdException(new InvalidIdException("Invalid Id!"), request);
+        objectMapper.writeValue(OutputStream.nullOutputStream(), response.getBody());
+        return response;
+    }
+
+    @Benchmark
+    public ResponseEntity<?> methodNotSupported() throws Exception {
+        ResponseEntity<?> response = advice.handleException(new HttpRequestMethodNotSupportedException("PATCH"), request);
+        objectMapper.writeValue(OutputStream.nullOutputStream(), response.getBody());
+        return response;
+    }
+}
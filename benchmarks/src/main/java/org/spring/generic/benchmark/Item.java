@@ -0,0 +1,40 @@
+package org.spring.generic.benchmark;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@Entity
+@Table(indexes = @Index(columnList = "quantity"))
+public class Item {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    private Long id;
+
+    @NotBlank
+    private String name;
+
+    private String description;
+
+    private Integer quantity;
+
+    private LocalDate created;
+
+    public Item(String name, String description, Integer quantity, LocalDate created) {
+        this.name = name;
+        this.description = description;
+        this.quantity = quantity;
+        this.created = created;
+    }
+}
@@ -0,0 +1,8 @@
+package org.spring.generic.benchmark;
+
+import org.spring.generic.advice.GenericAdviceController;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+public class ItemAdviceController extends GenericAdviceController {
+}
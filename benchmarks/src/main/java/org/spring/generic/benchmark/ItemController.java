@@ -0,0 +1,14 @@
+package org.spring.generic.benchmark;
+
+import org.spring.generic.controller.GenericController;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/items")
+public class ItemController extends GenericController<Item> {
+
+    public ItemController(ItemRepository itemRepository) {
+        super(itemRepository);
+    }
+}
@@ -0,0 +1,166 @@
+package org.spring.generic.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Closed-loop HTTP load against {@code GET /items/{id}} with many concurrent clients, once on the default
+ * platform-thread Tomcat pool and once with the {@code virtual} profile. JMH drives MockMvc from a handful
+ * of threads, so it cannot show what happens when clients outnumber request threads; this does.
+ *
+ * <pre>
+ * --clients 1000 --warmup 10 --duration 30 --rows 10000 --modes platform,virtual
+ * </pre>
+ */
+public class LoadDriver {
+
+    public static void main(String[] args) throws Exception {
+        int clients = intArg(args, "--clients", 1000);
+        int warmup = intArg(args, "--warmup", 10);
+        int duration = intArg(args, "--duration", 30);
+        int rows = intArg(args, "--rows", 10000);
+        String[] modes = stringArg(args, "--modes", "platform,virtual").split(",");
+
+        System.out.printf("%-9s %8s %12s %10s %10s %10s %8s%n", "mode", "clients", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "errors");
+        for (String mode : modes) {
+            if (mode.equals("virtual") && Runtime.version().feature() < 21) {
+                System.out.printf("%-9s skipped, virtual threads need Java 21 (running %s)%n", mode, Runtime.version());
+                continue;
+            }
+            BenchmarkContext application = BenchmarkContext.start(rows,
+                    "server.port=0",
+                    "spring.datasource.url=jdbc:h2:mem:load-" + mode + ";DB_CLOSE_DELAY=-1",
+                    "spring.profiles.active=" + (mode.equals("virtual") ? "virtual" : "default"));
+            try {
+                Result result = run(application.port(), clients, warmup, duration, rows);
+                System.out.printf("%-9s %8d %12.0f %10.2f %10.2f %10.2f %8d%n", mode, clients,
+                        result.throughput(), result.percentile(0.50), result.percentile(0.99), result.percentile(0.999), result.errors());
+            } finally {
+                application.close();
+            }
+        }
+    }
+
+    private static Result run(int port, int clients, int warmup, int duration, int rows) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        String base = "http://localhost:" + port + "/items/";
+        long start = System.nanoTime();
+        long measureFrom = start + Duration.ofSeconds(warmup).toNanos();
+        long end = measureFrom + Duration.ofSeconds(duration).toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        try {
+            List<Future<Client>> futures = new ArrayList<>(clients);
+            for (int i = 0; i < clients; i++) {
+                futures.add(executor.submit(() -> {
+                    Client stats = new Client();
+                    while (true) {
+                        long sent = System.nanoTime();
+                        if (sent >= end) {
+                            return stats;
+                        }
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(base + (ThreadLocalRandom.current().nextInt(rows) + 1))).build();
+                        int status;
+                        try {
+                            status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        } catch (Exception e) {
+                            status = -1;
+                        }
+                        if (sent >= measureFrom) {
+                            stats.record(System.nanoTime() - sent, status == 200);
+                        }
+                    }
+                }));
+            }
+            Result result = new Result(duration);
+            for (Future<Client> future : futures) {
+                result.add(future.get());
+            }
+            return result;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static int intArg(String[] args, String name, int defaultValue) {
+        return Integer.parseInt(stringArg(args, name, String.valueOf(defaultValue)));
+    }
+
+    private static String stringArg(String[] args, String name, String defaultValue) {
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals(name)) {
+                return args[i + 1];
+            }
+        }
+        return defaultValue;
+    }
+
+    private static final class Client {
+
+        private long[] latencies = new long[1024];
+
+        private int count;
+
+        private long errors;
+
+        void record(long nanos, boolean success) {
+            if (!success) {
+                errors++;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+    }
+
+    private static final class Result {
+
+        private final int duration;
+
+        private long[] latencies = new long[0];
+
+        private long errors;
+
+        Result(int duration) {
+            this.duration = duration;
+        }
+
+        void add(Client client) {
+            int offset = latencies.length;
+            latencies = Arrays.copyOf(latencies, offset + client.count);
+            System.arraycopy(client.latencies, 0, latencies, offset, client.count);
+            errors += client.errors;
+        }
+
+        double throughput() {
+            return (double) latencies.length / duration;
+        }
+
+        double percentile(double percentile) {
+            if (latencies.length == 0) {
+                return Double.NaN;
+            }
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            int index = (int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1);
+            return sorted[Math.max(index, 0)] / 1_000_000.0;
+        }
+
+        long errors() {
+            return errors;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package org.spring.generic.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Offset paging at increasing depths, the cost that keyset scrolling is meant to flatten.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PagingBenchmark {
+
+    @Param({"100000"})
+    private int rows;
+
+    @Param({"1", "100", "5000", "9999"})
+    private int page;
+
+    @Param({"10"})
+    private int size;
+
+    private BenchmarkContext application;
+
+    private MockMvc mockMvc;
+
+    @Setup
+    public void setUp() {
+        application = BenchmarkContext.start(rows);
+        mockMvc = application.mockMvc();
+    }
+
+    @TearDown
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse findAllPage() throws Exception {
+        return mockMvc.perform(get("/items")
+                .param("page", String.valueOf(page))
+                .param("size", String.valueOf(size)))
+                .andReturn().getResponse();
+    }
+}
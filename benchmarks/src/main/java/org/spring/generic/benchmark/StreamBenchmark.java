@@ -0,0 +1,149 @@
+package org.spring.generic.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code isList=true&stream=true} over HTTP with a heap far smaller than the larger tables. The rows live in an
+ * H2 TCP server started as a separate process, so neither the table nor the page cache and result buffers of the
+ * database count against the measured heap. Each iteration prints the largest heap left after a collection while
+ * the response was written. Run it with the gc profiler (the default in {@link BenchmarkRunner}) to compare
+ * {@code gc.alloc.rate.norm}:
+ *
+ * <pre>
+ * -Djmh.args="StreamBenchmark -p rows=10000,1000000,10000000"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx256m")
+public class StreamBenchmark {
+
+    @Param({"10000", "1000000", "10000000"})
+    private int rows;
+
+    private Process database;
+
+    private BenchmarkContext application;
+
+    private HttpClient client;
+
+    private URI uri;
+
+    private Thread sampler;
+
+    private volatile long liveHeap;
+
+    @Setup
+    public void setUp() throws IOException {
+        int databasePort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            databasePort = socket.getLocalPort();
+        }
+        database = new ProcessBuilder(Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"), "org.h2.tools.Server",
+                "-tcp", "-tcpPort", Integer.toString(databasePort), "-ifNotExists", "-baseDir", "target")
+                .redirectErrorStream(true)
+                .start();
+        Runtime.getRuntime().addShutdownHook(new Thread(database::destroy));
+        BufferedReader output = new BufferedReader(new InputStreamReader(database.getInputStream(), StandardCharsets.UTF_8));
+        for (String line; (line = output.readLine()) != null && !line.contains("TCP server running"); ) {
+            System.out.println(line);
+        }
+        application = BenchmarkContext.start(0,
+                "server.port=0",
+                "spring.datasource.url=jdbc:h2:tcp://localhost:" + databasePort + "/./stream-benchmark",
+                "spring.jpa.hibernate.ddl-auto=create-drop");
+        application.getBean(JdbcTemplate.class).update("insert into item (id, name, description, quantity, created) "
+                + "select x, 'item-' || x, 'Sample item number ' || x, mod(x, 1000), dateadd(day, mod(x, 365), date '2025-01-01') "
+                + "from system_range(1, ?)", rows);
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        uri = URI.create("http://localhost:" + application.port() + "/items?isList=true&stream=true");
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        application.close();
+        database.destroy();
+        database.waitFor();
+    }
+
+    @Setup(Level.Iteration)
+    public void startSampling() {
+        System.gc();
+        liveHeap = 0;
+        sampler = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                liveHeap = Math.max(liveHeap, liveHeap());
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        sampler.setDaemon(true);
+        sampler.start();
+    }
+
+    @TearDown(Level.Iteration)
+    public void printLiveHeap() throws InterruptedException {
+        sampler.interrupt();
+        sampler.join();
+        System.out.printf("  [rows=%d, live heap after gc at most %d MB]%n", rows, liveHeap >> 20);
+    }
+
+    private static long liveHeap() {
+        long used = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.getCollectionUsage() != null) {
+                used += pool.getCollectionUsage().getUsed();
+            }
+        }
+        return used;
+    }
+
+    @Benchmark
+    public long streamList() throws IOException, InterruptedException {
+        HttpResponse<InputStream> response = client.send(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.ofInputStream());
+        long bytes = 0;
+        byte[] buffer = new byte[8192];
+        try (InputStream body = response.body()) {
+            for (int read; (read = body.read(buffer)) != -1; ) {
+                bytes += read;
+            }
+        }
+        return bytes;
+    }
+}
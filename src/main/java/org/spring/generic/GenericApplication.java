@@ -1,5 +1,6 @@
 package org.spring.generic;
 
+import org.spring.generic.startup.StartupReport;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
@@ -7,7 +8,9 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 public class GenericApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(GenericApplication.class, args);
+		SpringApplication application = new SpringApplication(GenericApplication.class);
+		application.setApplicationStartup(StartupReport.applicationStartup(args));
+		application.run(args);
 	}
 
 }
@@ -1,12 +1,24 @@
 package org.spring.generic.advice;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import org.hibernate.Remove;
+import org.spring.generic.exception.InvalidCursorException;
+import org.spring.generic.exception.InvalidFieldException;
+import org.spring.generic.exception.InvalidFilterException;
 import org.spring.generic.exception.InvalidIdException;
+import org.spring.generic.exception.InvalidSizeException;
+import org.spring.generic.exception.InvalidSortException;
 import org.spring.generic.exception.NoContentException;
+import org.spring.generic.exception.ServiceUnavailableException;
+import org.spring.generic.exception.TooManyRequestsException;
 import org.springframework.beans.ConversionNotSupportedException;
 import org.springframework.beans.TypeMismatchException;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.*;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.http.converter.HttpMessageNotWritableException;
@@ -23,6 +35,7 @@ import org.springframework.web.bind.MissingPathVariableException;
 import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.ServletRequestBindingException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
 import org.springframework.web.method.annotation.HandlerMethodValidationException;
@@ -34,10 +47,35 @@ import org.springframework.web.servlet.resource.NoResourceFoundException;
 
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public abstract class GenericAdviceController extends ResponseEntityExceptionHandler {
 
+    private static final Map<HttpStatus, String> STATUS_DESCRIPTIONS = new EnumMap<>(HttpStatus.class);
+
+    private static final HttpHeaders RETRY_AFTER_HEADERS;
+
+    static {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "1");
+        RETRY_AFTER_HEADERS = HttpHeaders.readOnlyHttpHeaders(headers);
+        for (HttpStatus status : HttpStatus.values()) {
+            STATUS_DESCRIPTIONS.put(status, status.toString());
+        }
+    }
+
+    private final Map<Class<?>, Map<Integer, Counter>> errorCounters = new ConcurrentHashMap<>();
+
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.errorCounters.clear();
+    }
 
     @Override
     public void setMessageSource(MessageSource messageSource) {
@@ -51,92 +89,165 @@ public abstract class GenericAdviceController extends ResponseEntityExceptionHan
 
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ResponseEntity<?> handleDataIntegrityViolationException( DataIntegrityViolationException ex, WebRequest request) {
-        String path  = request.getDescription(false);
-        ErrorMessage errorMessage = new ErrorMessage(new Date(), path.substring("uri=".length()), HttpStatus.DESTINATION_LOCKED.value(),
+        ErrorMessage errorMessage = new ErrorMessage(new Date(), path(request), HttpStatus.DESTINATION_LOCKED.value(),
                 HttpStatus.DESTINATION_LOCKED.getReasonPhrase(),"Integrity constraint violation, Target item locked with another item!");
-        return new ResponseEntity<ErrorMessage>(errorMessage,HttpStatus.FAILED_DEPENDENCY);
+        return errorResponse(ex, null, HttpStatus.FAILED_DEPENDENCY, errorMessage);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<?> handleOptimisticLockingFailureException( OptimisticLockingFailureException ex, WebRequest request) {
+        HttpStatus status = request.getHeader(HttpHeaders.IF_MATCH) != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT;
+        return errorResponse(ex, request, status, "Data was modified by another request, reload and retry!");
     }
 
     @ExceptionHandler(NoContentException.class)
     public ResponseEntity<?> handleNoContentException( NoContentException ex, WebRequest request) {
-        String path  = request.getDescription(false);
-        ErrorMessage errorMessage = new ErrorMessage(new Date(), path.substring("uri=".length()), HttpStatus.NO_CONTENT.value(),
-                HttpStatus.NO_CONTENT.getReasonPhrase(),ex.getMessage());
-        return new ResponseEntity<ErrorMessage>(errorMessage,HttpStatus.NO_CONTENT);
+        countError(ex, HttpStatus.NO_CONTENT);
+        return ResponseEntity.noContent().build();
     }
 
     @ExceptionHandler(InvalidIdException.class)
     public ResponseEntity<?> handleInvalidIdException( InvalidIdException ex, WebRequest request) {
-        String path  = request.getDescription(false);
-        ErrorMessage errorMessage = new ErrorMessage(new Date(), path.substring("uri=".length()), HttpStatus.BAD_REQUEST.value(),
-                HttpStatus.BAD_REQUEST.getReasonPhrase(),ex.getMessage());
-        return new ResponseEntity<ErrorMessage>(errorMessage,HttpStatus.BAD_REQUEST);
+        return errorResponse(ex, request, HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<?> handleInvalidCursorException( InvalidCursorException ex, WebRequest request) {
+        return errorResponse(ex, request, HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidSizeException.class)
+    public ResponseEntity<?> handleInvalidSizeException( InvalidSizeException ex, WebRequest request) {
+        return errorResponse(ex, request, HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidSortException.class)
+    public ResponseEntity<?> handleInvalidSortException( InvalidSortException ex, WebRequest request) {
+        return errorResponse(ex, request, HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidFieldException.class)
+    public ResponseEntity<?> handleInvalidFieldException( InvalidFieldException ex, WebRequest request) {
+        return errorResponse(ex, request, HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidFilterException.class)
+    public ResponseEntity<?> handleInvalidFilterException( InvalidFilterException ex, WebRequest request) {
+        return errorResponse(ex, request, HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<?> handleServiceUnavailableException( ServiceUnavailableException ex, WebRequest request) {
+        ErrorMessage errorMessage = new ErrorMessage(new Date(), path(request), HttpStatus.SERVICE_UNAVAILABLE.value(),
+                HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase(),ex.getMessage());
+        return errorResponse(ex, RETRY_AFTER_HEADERS, HttpStatus.SERVICE_UNAVAILABLE, errorMessage);
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<?> handleTooManyRequestsException( TooManyRequestsException ex, WebRequest request) {
+        ErrorMessage errorMessage = new ErrorMessage(new Date(), path(request), HttpStatus.TOO_MANY_REQUESTS.value(),
+                HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase(),ex.getMessage());
+        HttpHeaders headers = RETRY_AFTER_HEADERS;
+        if (ex.getRetryAfterSeconds() > 1) {
+            headers = new HttpHeaders();
+            headers.set(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()));
+        }
+        return errorResponse(ex, headers, HttpStatus.TOO_MANY_REQUESTS, errorMessage);
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<?> handleUnexpectedException( Exception ex, WebRequest request) {
+        logger.error("Unhandled exception for " + path(request), ex);
+        return errorResponse(ex, request, HttpStatus.INTERNAL_SERVER_ERROR, "Internal server error!");
     }
 
     @Override
     protected ResponseEntity<Object> handleMissingServletRequestPart(MissingServletRequestPartException ex, HttpHeaders headers, HttpStatusCode status, WebRequest request) {
-        return super.handleMissingServletRequestPart(ex, headers, status, request);
+        return errorResponse(ex, request, headers, status, ex.getLocalizedMessage());
     }
 
     @Override
     protected ResponseEntity<Object> handleHttpRequestMethodNotSupported(HttpRequestMethodNotSupportedException ex, HttpHeaders headers, HttpStatusCode status, WebRequest request) {
-        String path  = request.getDescription(false);
-        ErrorMessage errorMessage = new ErrorMessage(new Date(), path.substring("uri=".length()),
-                status.value(), status.toString(),ex.getLocalizedMessage());
-        return new ResponseEntity<>(errorMessage, headers, status);
+        return errorResponse(ex, request, headers, status, ex.getLocalizedMessage());
     }
 
     @Override
     protected ResponseEntity<Object> handleHttpMediaTypeNotSupported(HttpMediaTypeNotSupportedException ex, HttpHeaders headers, HttpStatusCode status, WebRequest request) {
         String unsupported = "Unsupported content type : "+ex.getContentType();
         String supported = "Supported content type : "+MediaType.toString(ex.getSupportedMediaTypes());
-        String path  = request.getDescription(false);
-        ErrorMessage errorMessage = new ErrorMessage(new Date(), path.substring("uri=".length()),
-                status.value(), status.toString(),unsupported,supported);
-        return new ResponseEntity<>(errorMessage, headers, status);
+        ErrorMessage errorMessage = new ErrorMessage(new Date(), path(request),
+                status.value(), describe(status),unsupported,supported);
+        return errorResponse(ex, headers, status, errorMessage);
     }
 
     @Override
     protected ResponseEntity<Object> handleHttpMediaTypeNotAcceptable(HttpMediaTypeNotAcceptableException ex, HttpHeaders headers, HttpStatusCode status, WebRequest request) {
-        String path  = request.getDescription(false);
-        ErrorMessage errorMessage = new ErrorMessage(new Date(), path.substring("uri=".length()),
-                status.value(), status.toString(),ex.getLocalizedMessage());
-        return new ResponseEntity<>(errorMessage, headers, status);
+        return errorResponse(ex, request, headers, status, ex.getLocalizedMessage());
     }
 
     @Override
     protected ResponseEntity<Object> handleMissingPathVariable(MissingPathVariableException ex, HttpHeaders headers, HttpStatusCode status, WebRequest request) {
-        String path  = request.getDescription(false);
-        ErrorMessage errorMessage = new ErrorMessage(new Date(), path.substring("uri=".length()),
-                status.value(), status.toString(),ex.getLocalizedMessage());
-        return new ResponseEntity<>(errorMessage, headers, status);
+        return errorResponse(ex, request, headers, status, ex.getLocalizedMessage());
     }
 
     @Override
     protected ResponseEntity<Object> handleMissingServletRequestParameter(MissingServletRequestParameterException ex, HttpHeaders headers, HttpStatusCode status, WebRequest request) {
-        String path  = request.getDescription(false);
-        ErrorMessage errorMessage = new ErrorMessage(new Date(), path.substring("uri=".length()),
-                status.value(), status.toString(),ex.getLocalizedMessage());
-        return new ResponseEntity<>(errorMessage, headers, status);
+        return errorResponse(ex, request, headers, status, ex.getLocalizedMessage());
     }
 
     @Override
     protected ResponseEntity<Object> handleServletRequestBindingException(ServletRequestBindingException ex, HttpHeaders headers, HttpStatusCode status, WebRequest request) {
-        String path  = request.getDescription(false);
-        ErrorMessage errorMessage = new ErrorMessage(new Date(), path.substring("uri=".length()),
-                status.value(), status.toString(),ex.getLocalizedMessage());
-        return new ResponseEntity<>(errorMessage, headers, status);
+        return errorResponse(ex, request, headers, status, ex.getLocalizedMessage());
     }
 
     @Override
     protected ResponseEntity<Object> handleMethodArgumentNotValid(MethodArgumentNotValidException ex, HttpHeaders headers, HttpStatusCode status, WebRequest request) {
         List<String> errors = getStrings(ex);
-        String path  = request.getDescription(false);
-        ErrorMessage errorMessage = new ErrorMessage(new Date(), path.substring("uri=".length()),
-                status.value(), status.toString(),errors);
+        ErrorMessage errorMessage = new ErrorMessage(new Date(), path(request),
+                status.value(), describe(status),errors);
+        return errorResponse(ex, headers, status, errorMessage);
+    }
+
+    private ResponseEntity<Object> errorResponse(Exception ex, WebRequest request, HttpStatus status, String detail) {
+        ErrorMessage errorMessage = new ErrorMessage(new Date(), path(request), status.value(), status.getReasonPhrase(), detail);
+        return errorResponse(ex, null, status, errorMessage);
+    }
+
+    private ResponseEntity<Object> errorResponse(Exception ex, WebRequest request, HttpHeaders headers, HttpStatusCode status, String detail) {
+        ErrorMessage errorMessage = new ErrorMessage(new Date(), path(request), status.value(), describe(status), detail);
+        return errorResponse(ex, headers, status, errorMessage);
+    }
+
+    private ResponseEntity<Object> errorResponse(Exception ex, HttpHeaders headers, HttpStatusCode status, ErrorMessage errorMessage) {
+        countError(ex, status);
         return new ResponseEntity<>(errorMessage, headers, status);
     }
 
+    private static String path(WebRequest request) {
+        if (request instanceof ServletWebRequest servletWebRequest) {
+            return servletWebRequest.getRequest().getRequestURI();
+        }
+        return request.getDescription(false).substring("uri=".length());
+    }
+
+    /**
+     * Same text as {@code status.toString()}, which builds a new string on every call.
+     */
+    private static String describe(HttpStatusCode status) {
+        if (status instanceof HttpStatus httpStatus) {
+            return STATUS_DESCRIPTIONS.get(httpStatus);
+        }
+        return status.toString();
+    }
+
+    private void countError(Exception ex, HttpStatusCode status) {
+        errorCounters.computeIfAbsent(ex.getClass(), type -> new ConcurrentHashMap<>())
+                .computeIfAbsent(status.value(), value -> meterRegistry.counter("generic.errors",
+                        "exception", ex.getClass().getSimpleName(),
+                        "status", String.valueOf(value)))
+                .increment();
+    }
+
     private static List<String> getStrings(MethodArgumentNotValidException ex) {
         List<FieldError> fieldErrors = ex.getBindingResult().getFieldErrors();
         List<ObjectError> objectErrors = ex.getBindingResult().getGlobalErrors();
@@ -155,91 +266,58 @@ public abstract class GenericAdviceController extends ResponseEntityExceptionHan
 
     @Override
     protected ResponseEntity<Object> handleHandlerMethodValidationException(HandlerMethodValidationException ex, HttpHeaders headers, HttpStatusCode status, WebRequest request) {
-        String path  = request.getDescription(false);
-        ErrorMessage errorMessage = new ErrorMessage(new Date(), path.substring("uri=".length()),
-                status.value(), status.toString(),ex.getLocalizedMessage());
-        return new ResponseEntity<>(errorMessage, headers, status);
+        return errorResponse(ex, request, headers, status, ex.getLocalizedMessage());
     }
 
     @Override
     protected ResponseEntity<Object> handleNoHandlerFoundException(NoHandlerFoundException ex, HttpHeaders headers, HttpStatusCode status, WebRequest request) {
-        String path  = request.getDescription(false);
-        ErrorMessage errorMessage = new ErrorMessage(new Date(), path.substring("uri=".length()),
-                status.value(), status.toString(),ex.getLocalizedMessage());
-        return new ResponseEntity<>(errorMessage, headers, status);
+        return errorResponse(ex, request, headers, status, ex.getLocalizedMessage());
     }
 
     @Override
     protected ResponseEntity<Object> handleNoResourceFoundException(NoResourceFoundException ex, HttpHeaders headers, HttpStatusCode status, WebRequest request) {
-        String path  = request.getDescription(false);
-        ErrorMessage errorMessage = new ErrorMessage(new Date(), path.substring("uri=".length()),
-                status.value(), status.toString(),ex.getLocalizedMessage());
-        return new ResponseEntity<>(errorMessage, headers, status);
+        return errorResponse(ex, request, headers, status, ex.getLocalizedMessage());
     }
 
     @Override
     protected ResponseEntity<Object> handleAsyncRequestTimeoutException(AsyncRequestTimeoutException ex, HttpHeaders headers, HttpStatusCode status, WebRequest request) {
-        String path  = request.getDescription(false);
-        ErrorMessage errorMessage = new ErrorMessage(new Date(), path.substring("uri=".length()),
-                status.value(), status.toString(),ex.getLocalizedMessage());
-        return new ResponseEntity<>(errorMessage, headers, status);
+        return errorResponse(ex, request, headers, status, ex.getLocalizedMessage());
     }
 
     @Override
     protected ResponseEntity<Object> handleErrorResponseException(ErrorResponseException ex, HttpHeaders headers, HttpStatusCode status, WebRequest request) {
-        String path  = request.getDescription(false);
-        ErrorMessage errorMessage = new ErrorMessage(new Date(), path.substring("uri=".length()),
-                status.value(), status.toString(),ex.getLocalizedMessage());
-        return new ResponseEntity<>(errorMessage, headers, status);
+        return errorResponse(ex, request, headers, status, ex.getLocalizedMessage());
     }
 
     @Override
     protected ResponseEntity<Object> handleMaxUploadSizeExceededException(MaxUploadSizeExceededException ex, HttpHeaders headers, HttpStatusCode status, WebRequest request) {
-        String path  = request.getDescription(false);
-        ErrorMessage errorMessage = new ErrorMessage(new Date(), path.substring("uri=".length()),
-                status.value(), status.toString(),ex.getLocalizedMessage());
-        return new ResponseEntity<>(errorMessage, headers, status);
+        return errorResponse(ex, request, headers, status, ex.getLocalizedMessage());
     }
 
     @Override
     protected ResponseEntity<Object> handleConversionNotSupported(ConversionNotSupportedException ex, HttpHeaders headers, HttpStatusCode status, WebRequest request) {
-        String path  = request.getDescription(false);
-        ErrorMessage errorMessage = new ErrorMessage(new Date(), path.substring("uri=".length()),
-                status.value(), status.toString(),ex.getLocalizedMessage());
-        return new ResponseEntity<>(errorMessage, headers, status);
+        return errorResponse(ex, request, headers, status, ex.getLocalizedMessage());
     }
 
     @Override
     protected ResponseEntity<Object> handleTypeMismatch(TypeMismatchException ex, HttpHeaders headers, HttpStatusCode status, WebRequest request) {
-        String path  = request.getDescription(false);
-        ErrorMessage errorMessage = new ErrorMessage(new Date(), path.substring("uri=".length()),
-                status.value(), status.toString(),ex.getLocalizedMessage());
-        return new ResponseEntity<>(errorMessage, headers, status);
+        return errorResponse(ex, request, headers, status, ex.getLocalizedMessage());
     }
 
     @Override
     protected ResponseEntity<Object> handleHttpMessageNotReadable(HttpMessageNotReadableException ex, HttpHeaders headers, HttpStatusCode status, WebRequest request) {
-        String path  = request.getDescription(false);
-        ErrorMessage errorMessage = new ErrorMessage(new Date(), path.substring("uri=".length()),
-                status.value(), status.toString(),ex.getLocalizedMessage());
-        return new ResponseEntity<>(errorMessage, headers, status);
+        return errorResponse(ex, request, headers, status, ex.getLocalizedMessage());
     }
 
     @Override
     protected ResponseEntity<Object> handleHttpMessageNotWritable(HttpMessageNotWritableException ex, HttpHeaders headers, HttpStatusCode status, WebRequest request) {
-        String path  = request.getDescription(false);
-        ErrorMessage errorMessage = new ErrorMessage(new Date(), path.substring("uri=".length()),
-                status.value(), status.toString(),ex.getLocalizedMessage());
-        return new ResponseEntity<>(errorMessage, headers, status);
+        return errorResponse(ex, request, headers, status, ex.getLocalizedMessage());
     }
 
 
     @Override
     protected ResponseEntity<Object> handleMethodValidationException(MethodValidationException ex, HttpHeaders headers, HttpStatus status, WebRequest request) {
-        String path  = request.getDescription(false);
-        ErrorMessage errorMessage = new ErrorMessage(new Date(), path.substring("uri=".length()),
-                status.value(), status.toString(),ex.getLocalizedMessage());
-        return new ResponseEntity<>(errorMessage, headers, status);
+        return errorResponse(ex, request, headers, status, ex.getLocalizedMessage());
     }
 
     @Override
@@ -249,6 +327,7 @@ public abstract class GenericAdviceController extends ResponseEntityExceptionHan
 
     @Override
     protected ResponseEntity<Object> handleExceptionInternal(Exception ex, Object body, HttpHeaders headers, HttpStatusCode statusCode, WebRequest request) {
+        countError(ex, statusCode);
         return super.handleExceptionInternal(ex, body, headers, statusCode, request);
     }
 
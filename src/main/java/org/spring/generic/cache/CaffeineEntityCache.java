@@ -0,0 +1,54 @@
+package org.spring.generic.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+public class CaffeineEntityCache<T> implements EntityCache<T> {
+
+    private final Cache<Long, T> cache;
+
+    public CaffeineEntityCache(long maximumSize, Duration timeToLive) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+    }
+
+    public Cache<Long, T> getNativeCache() {
+        return cache;
+    }
+
+    @Override
+    public T get(Long id, Function<Long, T> loader) {
+        return cache.get(id, loader);
+    }
+
+    @Override
+    public void evict(Long id) {
+        cache.invalidate(id);
+    }
+
+    @Override
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public long hitCount() {
+        return cache.stats().hitCount();
+    }
+
+    @Override
+    public long missCount() {
+        return cache.stats().missCount();
+    }
+
+    @Override
+    public long evictionCount() {
+        return cache.stats().evictionCount();
+    }
+}
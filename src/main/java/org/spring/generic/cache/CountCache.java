@@ -0,0 +1,95 @@
+package org.spring.generic.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Total counts for one entity type, keyed by filter. All entries are reloaded in the background every
+ * {@code refreshInterval} and after every {@code refreshAfterWrites} writes, while the previous total is
+ * served. Entries not read for {@value #IDLE_INTERVALS} refresh intervals are dropped. The owning service
+ * binds the loader, so an instance must not be shared between services.
+ */
+public class CountCache {
+
+    private static final int IDLE_INTERVALS = 10;
+
+    public record Count(long total, boolean estimated) {
+    }
+
+    private final long maximumSize;
+
+    private final Duration refreshInterval;
+
+    private final int refreshAfterWrites;
+
+    private final AtomicInteger writes = new AtomicInteger();
+
+    private LoadingCache<Object, Count> cache;
+
+    private ScheduledExecutorService scheduler;
+
+    public CountCache(long maximumSize, Duration refreshInterval, int refreshAfterWrites) {
+        this.maximumSize = maximumSize;
+        this.refreshInterval = refreshInterval;
+        this.refreshAfterWrites = refreshAfterWrites;
+    }
+
+    public void bind(Function<Object, Count> loader) {
+        close();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(refreshInterval.multipliedBy(IDLE_INTERVALS))
+                .recordStats()
+                .build(loader::apply);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "count-cache-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = refreshInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::refreshAll, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public Count get(Object key) {
+        return cache.get(key);
+    }
+
+    public void recordWrites(int count) {
+        if (count > 0 && writes.addAndGet(count) >= refreshAfterWrites) {
+            writes.set(0);
+            refreshAll();
+        }
+    }
+
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Stops the scheduled refresh.
+     */
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public long hitCount() {
+        return cache.stats().hitCount();
+    }
+
+    public long missCount() {
+        return cache.stats().missCount();
+    }
+
+    private void refreshAll() {
+        cache.refreshAll(cache.asMap().keySet());
+    }
+}
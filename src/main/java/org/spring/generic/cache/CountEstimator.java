@@ -0,0 +1,11 @@
+package org.spring.generic.cache;
+
+import java.util.OptionalLong;
+
+/**
+ * Approximate row count of an entity table, read from database statistics.
+ */
+public interface CountEstimator {
+
+    OptionalLong estimate(Class<?> type);
+}
@@ -0,0 +1,22 @@
+package org.spring.generic.cache;
+
+import java.util.function.Function;
+
+/**
+ * Read-through cache for entities keyed by id. {@code GenericService} stores unmanaged copies and hands out a new
+ * copy per read, and only accepts entities without collections or lazy attributes.
+ */
+public interface EntityCache<T> {
+
+    T get(Long id, Function<Long, T> loader);
+
+    void evict(Long id);
+
+    void clear();
+
+    long hitCount();
+
+    long missCount();
+
+    long evictionCount();
+}
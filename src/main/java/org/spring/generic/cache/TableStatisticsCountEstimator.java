@@ -0,0 +1,50 @@
+package org.spring.generic.cache;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Reads {@code pg_class.reltuples} on PostgreSQL and {@code information_schema.tables.table_rows} on
+ * MySQL and MariaDB. Tables below {@code minimumRows}, and other databases, report no estimate so the
+ * caller counts exactly.
+ */
+public class TableStatisticsCountEstimator implements CountEstimator {
+
+    private static final String POSTGRESQL = "select cast(reltuples as bigint) from pg_class where oid = to_regclass(?1)";
+
+    private static final String MYSQL = "select table_rows from information_schema.tables where table_schema = database() and table_name = ?1";
+
+    private final EntityManager entityManager;
+
+    private final long minimumRows;
+
+    public TableStatisticsCountEstimator(EntityManager entityManager, long minimumRows) {
+        this.entityManager = entityManager;
+        this.minimumRows = minimumRows;
+    }
+
+    @Override
+    public OptionalLong estimate(Class<?> type) {
+        SessionFactoryImplementor sessionFactory = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class);
+        Dialect dialect = sessionFactory.getJdbcServices().getDialect();
+        String sql = dialect instanceof PostgreSQLDialect ? POSTGRESQL : dialect instanceof MySQLDialect ? MYSQL : null;
+        EntityPersister persister = sessionFactory.getMappingMetamodel().getEntityDescriptor(type);
+        if (sql == null || !(persister instanceof AbstractEntityPersister entityPersister)) {
+            return OptionalLong.empty();
+        }
+        List<?> rows = entityManager.createNativeQuery(sql).setParameter(1, entityPersister.getTableName()).getResultList();
+        if (rows.isEmpty() || rows.get(0) == null) {
+            return OptionalLong.empty();
+        }
+        long estimate = ((Number) rows.get(0)).longValue();
+        return estimate < minimumRows ? OptionalLong.empty() : OptionalLong.of(estimate);
+    }
+}
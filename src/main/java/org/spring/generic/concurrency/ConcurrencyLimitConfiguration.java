@@ -0,0 +1,48 @@
+package org.spring.generic.concurrency;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * Enabled with {@code generic.concurrency.enabled=true}. The limit defaults to the Hikari pool size.
+ */
+@AutoConfiguration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "generic.concurrency", name = "enabled", havingValue = "true")
+public class ConcurrencyLimitConfiguration implements WebMvcConfigurer {
+
+    private final ConcurrencyLimiter limiter;
+
+    public ConcurrencyLimitConfiguration(
+            @Value("${generic.concurrency.max-concurrent:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrent,
+            @Value("${generic.concurrency.acquire-timeout:1s}") Duration acquireTimeout,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.limiter = new ConcurrencyLimiter(maxConcurrent, acquireTimeout);
+        meterRegistry.ifAvailable(registry -> {
+            Gauge.builder("generic.concurrency.available", this.limiter, ConcurrencyLimiter::getAvailablePermits)
+                    .description("Free database permits").register(registry);
+            Gauge.builder("generic.concurrency.waiting", this.limiter, ConcurrencyLimiter::getQueueLength)
+                    .description("Requests waiting for a database permit").register(registry);
+        });
+    }
+
+    @Bean
+    public ConcurrencyLimiter concurrencyLimiter() {
+        return limiter;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ConcurrencyLimitInterceptor(limiter));
+    }
+}
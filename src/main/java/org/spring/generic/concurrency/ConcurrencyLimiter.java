@@ -0,0 +1,84 @@
+package org.spring.generic.concurrency;
+
+import org.spring.generic.exception.ServiceUnavailableException;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Caps the number of requests that may use the database at once. Sized to the connection pool, callers
+ * wait here instead of queueing inside the pool, and give up with a 503 once {@code acquireTimeout} passes.
+ * Work started by a thread that already holds a permit, such as the request it serves, runs on that permit.
+ */
+public class ConcurrencyLimiter {
+
+    private final Semaphore permits;
+
+    private final int maxConcurrent;
+
+    private final long acquireTimeoutNanos;
+
+    private final ThreadLocal<Integer> held = new ThreadLocal<>();
+
+    public ConcurrencyLimiter(int maxConcurrent, Duration acquireTimeout) {
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxConcurrent = maxConcurrent;
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+    }
+
+    public void acquire() {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new ServiceUnavailableException("Server busy, retry later!");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Server busy, retry later!");
+        }
+        Integer count = held.get();
+        held.set(count == null ? 1 : count + 1);
+    }
+
+    public void release() {
+        Integer count = held.get();
+        if (count == null || count <= 1) {
+            held.remove();
+        } else {
+            held.set(count - 1);
+        }
+        permits.release();
+    }
+
+    public boolean isHeldByCurrentThread() {
+        return held.get() != null;
+    }
+
+    /**
+     * Runs {@code call} under a permit, or on the permit the current thread already holds.
+     */
+    public <R> R call(Supplier<R> call) {
+        if (isHeldByCurrentThread()) {
+            return call.get();
+        }
+        acquire();
+        try {
+            return call.get();
+        } finally {
+            release();
+        }
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    public int getQueueLength() {
+        return permits.getQueueLength();
+    }
+}
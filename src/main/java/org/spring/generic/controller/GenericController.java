@@ -1,39 +1,202 @@
 package org.spring.generic.controller;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceUnitUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
-import org.spring.generic.exception.NoContentException;
+import jakarta.validation.Validator;
+import org.spring.generic.concurrency.ConcurrencyLimiter;
+import org.spring.generic.encoding.BinaryEncodingConfiguration;
+import org.spring.generic.exception.InvalidSizeException;
+import org.spring.generic.exception.InvalidSortException;
+import org.spring.generic.filter.FilterPlan;
+import org.spring.generic.limit.RequestCost;
+import org.spring.generic.metrics.GenericMetrics;
+import org.spring.generic.page.CursorSlice;
 import org.spring.generic.repo.GenericRepository;
+import org.spring.generic.service.BatchResult;
+import org.spring.generic.service.EntityMetadata;
 import org.spring.generic.service.GenericService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.DigestUtils;
 import org.springframework.util.ObjectUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
 
 public abstract class GenericController<T> {
 
+    public static final String UNINDEXED_FILTER_HEADER = "X-Unindexed-Filter";
+
+    private static final Duration WRITE_BEHIND_SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
     private final GenericService<T> genericService;
 
-    private Class< T > type;
+    private final Class<T> type;
+
+    private EntityManager entityManager;
+
+    private ObjectMapper objectMapper;
+
+    private Map<MediaType, ObjectWriter> streamWriters;
+
+    private ObjectReader streamReader;
+
+    private boolean binaryEncoding = true;
+
+    private KeysetCursor keysetCursor;
+
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
 
+    private GenericMetrics metrics;
+
+    private RequestCost requestCost;
+
+    @SuppressWarnings("unchecked")
     public GenericController(GenericRepository<T> genericRepository) {
-        this.genericService = new GenericService<T>(genericRepository) {};
+        this.type = (Class<T>) GenericTypeResolver.resolveTypeArgument(getClass(), GenericController.class);
+        this.genericService = new GenericService<T>(genericRepository, type) {};
+    }
+
+    protected GenericService<T> getGenericService() {
+        return genericService;
+    }
+
+    @PersistenceContext
+    public void setEntityManager(EntityManager entityManager) {
+        this.entityManager = entityManager;
+        genericService.setEntityManager(entityManager);
+    }
+
+    @Autowired
+    public void setTransactionManager(PlatformTransactionManager transactionManager) {
+        genericService.setTransactionManager(transactionManager);
+    }
+
+    @Autowired
+    public void setObjectMapper(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.streamReader = objectMapper.readerFor(type);
+    }
+
+    @Autowired
+    public void setBinaryEncoding(@Value("${" + BinaryEncodingConfiguration.ENABLED_PROPERTY + ":true}") boolean binaryEncoding) {
+        this.binaryEncoding = binaryEncoding;
+    }
+
+    @Autowired(required = false)
+    public void setValidator(Validator validator) {
+        genericService.setValidator(validator);
+    }
+
+    @Autowired(required = false)
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public void setAsyncExecutor(AsyncTaskExecutor asyncExecutor) {
+        genericService.setAsyncExecutor(asyncExecutor);
+    }
+
+    @Autowired(required = false)
+    public void setConcurrencyLimiter(ConcurrencyLimiter concurrencyLimiter) {
+        genericService.setConcurrencyLimiter(concurrencyLimiter);
+    }
+
+    @Autowired(required = false)
+    public void setRequestCost(RequestCost requestCost) {
+        this.requestCost = requestCost;
+    }
+
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        ObjectWriter jsonWriter = objectMapper.writerFor(type).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.streamWriters = new LinkedHashMap<>();
+        streamWriters.put(MediaType.APPLICATION_JSON, jsonWriter);
+        streamWriters.put(MediaType.APPLICATION_NDJSON, jsonWriter.withRootValueSeparator("\n"));
+        if(binaryEncoding){
+            streamWriters.put(SMILE, objectMapper.copyWith(new SmileFactory()).writerFor(type).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE));
+            streamWriters.put(MediaType.APPLICATION_CBOR, objectMapper.copyWith(new CBORFactory()).writerFor(type).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE));
+        }
+        this.keysetCursor = new KeysetCursor(objectMapper, entityManager.getMetamodel().entity(type), genericService.getMetadata().getIdAttribute());
+        this.metrics = new GenericMetrics(meterRegistry, type.getSimpleName());
+        if(genericService.getEntityCache() != null){
+            if(!genericService.getMetadata().isCacheable()){
+                throw new IllegalStateException(type.getSimpleName() + " has collections or lazy attributes and cannot use an entity cache");
+            }
+            metrics.bindCache(genericService.getEntityCache());
+        }
+        if(genericService.getCountCache() != null){
+            metrics.bindCountCache(genericService.getCountCache());
+        }
+        if(genericService.getWriteBehind() != null){
+            metrics.bindWriteBehind(genericService.getWriteBehind());
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        genericService.shutdown(WRITE_BEHIND_SHUTDOWN_TIMEOUT);
+    }
+
+    protected GenericMetrics getMetrics() {
+        return metrics;
     }
 
     @Operation(summary = "Fetch All", description = "Retrieve all data.")
     @ApiResponses({
             @ApiResponse(responseCode = "200",content = { @Content(schema = @Schema())}, description = "Data retrieve successfully!" ),
-            @ApiResponse(responseCode = "404",content = {@Content(schema = @Schema())}, description = "Data not found!" ),
+            @ApiResponse(responseCode = "204",content = {@Content(schema = @Schema())}, description = "No content found!" ),
+            @ApiResponse(responseCode = "400",content = {@Content(schema = @Schema())}, description = "Invalid fields, filter, sort or size!" ),
             @ApiResponse(responseCode = "500",content = {@Content(schema = @Schema())}, description = "Internal server error!" )
     })
     @GetMapping
@@ -41,43 +204,161 @@ public abstract class GenericController<T> {
             @RequestParam(defaultValue = "false", required = false) Boolean isList,
             @RequestParam(defaultValue = "1", required = false) int page,
             @RequestParam(defaultValue = "10", required = false) int size,
-            @RequestParam(defaultValue = "id,asc", required = false) String[] sort){
+            @RequestParam(defaultValue = "id,asc", required = false) String[] sort,
+            @RequestParam(defaultValue = "false", required = false) Boolean stream,
+            @RequestParam(defaultValue = "false", required = false) Boolean slice,
+            @RequestParam(required = false) String[] fields,
+            @RequestParam(required = false) String filter,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            HttpServletResponse response,
+            WebRequest request){
 
+        FilterPlan<T> plan = compileFilter(filter, response);
         if(isList){
-            List<T> objectList = genericService.findAll();
+            if(stream){
+                streamAll(plan, accept, response);
+                return null;
+            }
+            if(fields != null){
+                List<Map<String, Object>> rows = metrics.recordQuery(GenericMetrics.FIND_ALL_LIST, () -> genericService.findAll(fields, plan));
+                if(ObjectUtils.isEmpty(rows)){
+                    return ResponseEntity.noContent().build();
+                }
+                serialize(request, GenericMetrics.FIND_ALL_LIST, rows.size());
+                return ResponseEntity.ok(rows);
+            }
+            List<T> objectList = metrics.recordQuery(GenericMetrics.FIND_ALL_LIST, () -> genericService.findAll(plan));
             if(ObjectUtils.isEmpty(objectList)){
-                throw new NoContentException("No content found!");
+                return ResponseEntity.noContent().build();
             }
-            return ResponseEntity.ok(objectList);
+            String eTag = eTag(objectList, objectList.size());
+            if(eTag != null && request.checkNotModified(eTag)){
+                return notModified(eTag);
+            }
+            serialize(request, GenericMetrics.FIND_ALL_LIST, objectList.size());
+            return ResponseEntity.ok().eTag(eTag).body(objectList);
         }
+        checkPageSize(size);
         Pageable pageable = setPageRequest(page, size,sort);
-        Page<T> pageObject = genericService.findAll(pageable);
+        metrics.recordPageSize(size);
+        if(slice){
+            return getSlice(pageable, fields, plan, request);
+        }
+        if(fields != null){
+            Page<Map<String, Object>> rows = metrics.recordQuery(GenericMetrics.FIND_ALL_PAGE, () -> genericService.findAll(pageable, fields, plan));
+            if(ObjectUtils.isEmpty(rows.getContent())){
+                return ResponseEntity.noContent().build();
+            }
+            serialize(request, GenericMetrics.FIND_ALL_PAGE, rows.getNumberOfElements());
+            return ResponseEntity.ok(rows);
+        }
+        Page<T> pageObject = metrics.recordQuery(GenericMetrics.FIND_ALL_PAGE, () -> genericService.findAll(pageable, plan));
         if(ObjectUtils.isEmpty(pageObject.getContent())){
-            throw new NoContentException("No content found!");
+            return ResponseEntity.noContent().build();
+        }
+        String eTag = eTag(pageObject.getContent(), pageObject.getTotalElements());
+        if(eTag != null && request.checkNotModified(eTag)){
+            return notModified(eTag);
+        }
+        serialize(request, GenericMetrics.FIND_ALL_PAGE, pageObject.getNumberOfElements());
+        return ResponseEntity.ok().eTag(eTag).body(pageObject);
+    }
+
+    private ResponseEntity<?> getSlice(Pageable pageable, String[] fields, FilterPlan<T> plan, WebRequest request){
+        if(fields != null){
+            Slice<Map<String, Object>> rows = metrics.recordQuery(GenericMetrics.FIND_ALL_SLICE, () -> genericService.findSlice(pageable, fields, plan));
+            if(!rows.hasContent()){
+                return ResponseEntity.noContent().build();
+            }
+            serialize(request, GenericMetrics.FIND_ALL_SLICE, rows.getNumberOfElements());
+            return ResponseEntity.ok(rows);
         }
-        return ResponseEntity.ok(pageObject);
+        Slice<T> sliceObject = metrics.recordQuery(GenericMetrics.FIND_ALL_SLICE, () -> genericService.findSlice(pageable, plan));
+        if(!sliceObject.hasContent()){
+            return ResponseEntity.noContent().build();
+        }
+        String eTag = eTag(sliceObject.getContent(), sliceObject.hasNext() ? -1 : sliceObject.getNumberOfElements());
+        if(eTag != null && request.checkNotModified(eTag)){
+            return notModified(eTag);
+        }
+        serialize(request, GenericMetrics.FIND_ALL_SLICE, sliceObject.getNumberOfElements());
+        return ResponseEntity.ok().eTag(eTag).body(sliceObject);
+    }
+
+    @Operation(summary = "Fetch by cursor", description = "Retrieve data after an opaque cursor without counting.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200",content = { @Content(schema = @Schema())}, description = "Data retrieve successfully!" ),
+            @ApiResponse(responseCode = "204",content = {@Content(schema = @Schema())}, description = "No content found!" ),
+            @ApiResponse(responseCode = "400",content = {@Content(schema = @Schema())}, description = "Invalid cursor, sort or size!" ),
+            @ApiResponse(responseCode = "500",content = {@Content(schema = @Schema())}, description = "Internal server error!" )
+    })
+    @GetMapping("/scroll")
+    public ResponseEntity<?> getAllByCursor(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10", required = false) int size,
+            @RequestParam(defaultValue = "id,asc", required = false) String[] sort,
+            @RequestParam(required = false) String filter,
+            HttpServletResponse response,
+            WebRequest request){
+
+        checkPageSize(size);
+        Sort order = setSort(sort);
+        FilterPlan<T> plan = compileFilter(filter, response);
+        KeysetScrollPosition position = keysetCursor.decode(after, order);
+        metrics.recordPageSize(size);
+        Window<T> window = metrics.recordQuery(GenericMetrics.FIND_ALL_SCROLL, () -> genericService.findAll(position, size, order, plan));
+        if(window.isEmpty()){
+            return ResponseEntity.noContent().build();
+        }
+        serialize(request, GenericMetrics.FIND_ALL_SCROLL, window.size());
+        String next = window.hasNext()
+                ? keysetCursor.encode((KeysetScrollPosition) window.positionAt(window.size() - 1), order)
+                : null;
+        return ResponseEntity.ok(new CursorSlice<>(window.getContent(), PageRequest.of(0, size, order), window.hasNext(), next));
     }
 
     @Operation(summary = "Fetch by id", description = "Retrieve data by id")
     @ApiResponses({
             @ApiResponse(responseCode = "200",content = {@Content(schema = @Schema())}, description = "Data retrieve successfully!" ),
+            @ApiResponse(responseCode = "304",content = {@Content(schema = @Schema())}, description = "Data not modified!" ),
             @ApiResponse(responseCode = "404",content = {@Content(schema = @Schema())}, description = "Data not found!" ),
             @ApiResponse(responseCode = "500",content = {@Content(schema = @Schema())}, description = "Internal server error!" )
     })
     @GetMapping("/{id}")
-    public ResponseEntity<?> getOneById(@PathVariable Long id){
-        return new ResponseEntity<T>(genericService.findById(id), HttpStatus.OK);
+    public ResponseEntity<?> getOneById(@PathVariable Long id,
+                                        @RequestParam(required = false) String[] fields,
+                                        WebRequest request){
+        if(fields != null){
+            Map<String, Object> row = metrics.recordQuery(GenericMetrics.FIND_BY_ID, () -> genericService.findById(id, fields));
+            serialize(request, GenericMetrics.FIND_BY_ID, 1);
+            return ResponseEntity.ok(row);
+        }
+        T entity = metrics.recordQuery(GenericMetrics.FIND_BY_ID, () -> genericService.findById(id));
+        String eTag = eTag(entity);
+        if(eTag != null && request.checkNotModified(eTag)){
+            return notModified(eTag);
+        }
+        serialize(request, GenericMetrics.FIND_BY_ID, 1);
+        return ResponseEntity.ok().eTag(eTag).body(entity);
     }
 
     @Operation(summary = "Create", description = "Create new data")
     @ApiResponses({
             @ApiResponse(responseCode = "200",content = {@Content(schema = @Schema())}, description = "Data created successfully!" ),
+            @ApiResponse(responseCode = "202",content = {@Content(schema = @Schema())}, description = "Data queued for a write-behind insert!" ),
             @ApiResponse(responseCode = "400",content = {@Content(schema = @Schema())}, description = "Bad request!" ),
+            @ApiResponse(responseCode = "429",content = {@Content(schema = @Schema())}, description = "Write queue is full!" ),
             @ApiResponse(responseCode = "500",content = {@Content(schema = @Schema())}, description = "Internal server error!" )
     })
     @PostMapping
-    public ResponseEntity<T> save(@RequestBody @Valid T entity){
-        return ResponseEntity.ok(genericService.save(entity));
+    public ResponseEntity<T> save(@RequestBody @Valid T entity, WebRequest request){
+        if(genericService.getWriteBehind() != null){
+            metrics.recordQuery(GenericMetrics.SAVE, () -> genericService.enqueue(entity));
+            return ResponseEntity.accepted().build();
+        }
+        T saved = metrics.recordQuery(GenericMetrics.SAVE, () -> genericService.save(entity));
+        serialize(request, GenericMetrics.SAVE, 1);
+        return ResponseEntity.ok(saved);
     }
 
     @Operation(summary = "Update", description = "Update existing data")
@@ -85,11 +366,20 @@ public abstract class GenericController<T> {
             @ApiResponse(responseCode = "200",content = {@Content(schema = @Schema())}, description = "Data updated successfully!" ),
             @ApiResponse(responseCode = "400",content = {@Content(schema = @Schema())}, description = "Bad request!" ),
             @ApiResponse(responseCode = "404",content = {@Content(schema = @Schema())}, description = "Data not found!" ),
+            @ApiResponse(responseCode = "412",content = {@Content(schema = @Schema())}, description = "Data changed since If-Match version!" ),
             @ApiResponse(responseCode = "500",content = {@Content(schema = @Schema())}, description = "Internal server error!" )
     })
     @PutMapping
-    public ResponseEntity<T> update(@RequestBody @Valid T entity){
-        return ResponseEntity.ok(genericService.save(entity));
+    public ResponseEntity<T> update(@RequestBody @Valid T entity,
+                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                    WebRequest request){
+        EntityMetadata<T> metadata = genericService.getMetadata();
+        if(ifMatch != null && !ifMatch.trim().equals("*") && metadata != null && metadata.isVersioned()){
+            metadata.setVersion(entity, unquote(ifMatch));
+        }
+        T saved = metrics.recordQuery(GenericMetrics.UPDATE, () -> genericService.save(entity));
+        serialize(request, GenericMetrics.UPDATE, 1);
+        return ResponseEntity.ok().eTag(eTag(saved)).body(saved);
     }
 
     @Operation(summary = "Delete by id", description = "Delete by id")
@@ -101,19 +391,226 @@ public abstract class GenericController<T> {
     })
     @DeleteMapping("/{id}")
     public ResponseEntity<?> delete(@PathVariable Long id){
-        genericService.delete(id);
+        metrics.recordQuery(GenericMetrics.DELETE, () -> genericService.delete(id));
+        metrics.recordRows(GenericMetrics.DELETE, 1);
         return ResponseEntity.ok("Data deleted successfully!");
     }
 
+    @Operation(summary = "Create batch", description = "Create data in batches from a JSON array")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200",content = {@Content(schema = @Schema())}, description = "All data created successfully!" ),
+            @ApiResponse(responseCode = "207",content = {@Content(schema = @Schema())}, description = "Some items failed, see per-item results!" ),
+            @ApiResponse(responseCode = "400",content = {@Content(schema = @Schema())}, description = "Bad request!" ),
+            @ApiResponse(responseCode = "500",content = {@Content(schema = @Schema())}, description = "Internal server error!" )
+    })
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<BatchResult>> saveAll(@RequestBody List<T> entities, HttpServletRequest request){
+        chargeBatch(request, entities.size());
+        return batchResponse(GenericMetrics.SAVE_BATCH, metrics.recordQuery(GenericMetrics.SAVE_BATCH, () -> genericService.saveAll(entities.iterator())));
+    }
+
+    @Operation(summary = "Create batch stream", description = "Create data in batches from an NDJSON body")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200",content = {@Content(schema = @Schema())}, description = "All data created successfully!" ),
+            @ApiResponse(responseCode = "207",content = {@Content(schema = @Schema())}, description = "Some items failed, see per-item results!" ),
+            @ApiResponse(responseCode = "400",content = {@Content(schema = @Schema())}, description = "Bad request!" ),
+            @ApiResponse(responseCode = "500",content = {@Content(schema = @Schema())}, description = "Internal server error!" )
+    })
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<List<BatchResult>> saveAllStream(HttpServletRequest request) throws IOException {
+        return saveStream(request);
+    }
+
+    @Operation(summary = "Update batch", description = "Update existing data in batches from a JSON array")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200",content = {@Content(schema = @Schema())}, description = "All data updated successfully!" ),
+            @ApiResponse(responseCode = "207",content = {@Content(schema = @Schema())}, description = "Some items failed, see per-item results!" ),
+            @ApiResponse(responseCode = "400",content = {@Content(schema = @Schema())}, description = "Bad request!" ),
+            @ApiResponse(responseCode = "500",content = {@Content(schema = @Schema())}, description = "Internal server error!" )
+    })
+    @PutMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<BatchResult>> updateAll(@RequestBody List<T> entities, HttpServletRequest request){
+        chargeBatch(request, entities.size());
+        return batchResponse(GenericMetrics.SAVE_BATCH, metrics.recordQuery(GenericMetrics.SAVE_BATCH, () -> genericService.saveAll(entities.iterator())));
+    }
+
+    @Operation(summary = "Update batch stream", description = "Update existing data in batches from an NDJSON body")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200",content = {@Content(schema = @Schema())}, description = "All data updated successfully!" ),
+            @ApiResponse(responseCode = "207",content = {@Content(schema = @Schema())}, description = "Some items failed, see per-item results!" ),
+            @ApiResponse(responseCode = "400",content = {@Content(schema = @Schema())}, description = "Bad request!" ),
+            @ApiResponse(responseCode = "500",content = {@Content(schema = @Schema())}, description = "Internal server error!" )
+    })
+    @PutMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<List<BatchResult>> updateAllStream(HttpServletRequest request) throws IOException {
+        return saveStream(request);
+    }
+
+    @Operation(summary = "Delete batch", description = "Delete by a list of ids")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200",content = {@Content(schema = @Schema())}, description = "All data deleted successfully!" ),
+            @ApiResponse(responseCode = "207",content = {@Content(schema = @Schema())}, description = "Some items failed, see per-item results!" ),
+            @ApiResponse(responseCode = "400",content = {@Content(schema = @Schema())}, description = "Bad request!" ),
+            @ApiResponse(responseCode = "500",content = {@Content(schema = @Schema())}, description = "Internal server error!" )
+    })
+    @DeleteMapping("/batch")
+    public ResponseEntity<List<BatchResult>> deleteAll(@RequestBody List<Long> ids, HttpServletRequest request){
+        chargeBatch(request, ids.size());
+        return batchResponse(GenericMetrics.DELETE_BATCH, metrics.recordQuery(GenericMetrics.DELETE_BATCH, () -> genericService.deleteAll(ids)));
+    }
+
+    private String eTag(T entity){
+        EntityMetadata<T> metadata = genericService.getMetadata();
+        if(metadata == null || !metadata.isVersioned()){
+            return null;
+        }
+        Object version = metadata.getVersion(entity);
+        return version == null ? null : "\"" + version + "\"";
+    }
+
+    private String eTag(List<T> entities, long total){
+        EntityMetadata<T> metadata = genericService.getMetadata();
+        if(metadata == null || !metadata.isVersioned()){
+            return null;
+        }
+        PersistenceUnitUtil util = entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
+        StringBuilder builder = new StringBuilder(entities.size() * 12).append(total);
+        for(T entity : entities){
+            builder.append(';').append(util.getIdentifier(entity)).append(':').append(metadata.getVersion(entity));
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(builder.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    private static String unquote(String eTag){
+        String value = eTag.trim();
+        if(value.startsWith("W/")){
+            value = value.substring(2);
+        }
+        if(value.length() > 1 && value.startsWith("\"") && value.endsWith("\"")){
+            value = value.substring(1, value.length() - 1);
+        }
+        return value;
+    }
+
+    private ResponseEntity<?> notModified(String eTag){
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+    }
+
+    /**
+     * Without load shedding the body is saved while it is read. With it, up to {@code max-batch-size} items are
+     * read first so the batch is charged in full before anything is written.
+     */
+    private ResponseEntity<List<BatchResult>> saveStream(HttpServletRequest request) throws IOException {
+        try (MappingIterator<T> entities = streamReader.readValues(request.getInputStream())) {
+            if(requestCost == null){
+                return batchResponse(GenericMetrics.SAVE_BATCH, metrics.recordQuery(GenericMetrics.SAVE_BATCH, () -> genericService.saveAll(entities)));
+            }
+            List<T> batch = new ArrayList<>();
+            while(entities.hasNext()){
+                batch.add(entities.next());
+                checkBatchSize(batch.size());
+            }
+            chargeBatch(request, batch.size());
+            return batchResponse(GenericMetrics.SAVE_BATCH, metrics.recordQuery(GenericMetrics.SAVE_BATCH, () -> genericService.saveAll(batch.iterator())));
+        }
+    }
+
+    private void chargeBatch(HttpServletRequest request, int items){
+        checkBatchSize(items);
+        if(request.getAttribute(RequestCost.BATCH_CHARGE) instanceof IntConsumer charge){
+            charge.accept(items);
+        }
+    }
+
+    private void checkBatchSize(int items){
+        if(requestCost != null && items > requestCost.getMaxBatchSize()){
+            throw new InvalidSizeException("Batch size must be at most " + requestCost.getMaxBatchSize() + "!");
+        }
+    }
+
+    private void checkPageSize(int size){
+        if(size < 1){
+            throw new InvalidSizeException("Page size must be at least 1!");
+        }
+        if(requestCost != null && size > requestCost.getMaxPageSize()){
+            throw new InvalidSizeException("Page size must be at most " + requestCost.getMaxPageSize() + "!");
+        }
+    }
+
+    private ResponseEntity<List<BatchResult>> batchResponse(String operation, List<BatchResult> results){
+        metrics.recordRows(operation, results.size());
+        boolean success = results.stream().allMatch(BatchResult::isSuccess);
+        return ResponseEntity.status(success ? HttpStatus.OK : HttpStatus.MULTI_STATUS).body(results);
+    }
+
+    private void serialize(WebRequest request, String operation, int rows){
+        metrics.recordRows(operation, rows);
+        metrics.startSerialize(request, operation);
+    }
+
+    private FilterPlan<T> compileFilter(String filter, HttpServletResponse response){
+        FilterPlan<T> plan = genericService.compileFilter(filter);
+        if(plan != null && !plan.getUnindexedAttributes().isEmpty()){
+            response.setHeader(UNINDEXED_FILTER_HEADER, String.join(",", plan.getUnindexedAttributes()));
+        }
+        return plan;
+    }
+
+    private void streamAll(FilterPlan<T> plan, String accept, HttpServletResponse response){
+        MediaType mediaType = streamMediaType(accept);
+        ObjectWriter streamWriter = streamWriters.get(mediaType);
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(mediaType.toString());
+        try (SequenceWriter writer = MediaType.APPLICATION_NDJSON.equals(mediaType)
+                ? streamWriter.writeValues(response.getOutputStream())
+                : streamWriter.writeValuesAsArray(response.getOutputStream())) {
+            long[] rows = new long[1];
+            metrics.recordQuery(GenericMetrics.FIND_ALL_STREAM, () -> genericService.streamAll(plan, entity -> {
+                try {
+                    writer.write(entity);
+                    rows[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+            metrics.recordRows(GenericMetrics.FIND_ALL_STREAM, rows[0]);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private MediaType streamMediaType(String accept){
+        if(accept != null){
+            for(MediaType accepted : MediaType.parseMediaTypes(accept)){
+                for(MediaType mediaType : streamWriters.keySet()){
+                    if(mediaType.equalsTypeAndSubtype(accepted)){
+                        return mediaType;
+                    }
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
     private Pageable setPageRequest(Integer page, Integer size, String[] sort){
         if(page != null && size != null){
-            String sortField = sort[0] == null ? "id" : sort[0];
-            String sortDirection = sort[1] == null ? "asc" : sort[1];
-            Sort.Direction direction = sortDirection.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
-            Sort.Order order = new Sort.Order(direction, sortField);
-            return PageRequest.of(page-1, size, Sort.by(order));
+            return PageRequest.of(page-1, size, setSort(sort));
         }
         return null;
     }
 
+    private Sort setSort(String[] sort){
+        if(sort.length == 0 || sort.length > 2){
+            throw new InvalidSortException("Invalid sort : " + String.join(",", sort));
+        }
+        String sortField = sort[0] == null || sort[0].isBlank() ? "id" : sort[0].trim();
+        String sortDirection = sort.length == 1 || sort[1] == null ? "asc" : sort[1].trim();
+        if(!sortDirection.equalsIgnoreCase("asc") && !sortDirection.equalsIgnoreCase("desc")){
+            throw new InvalidSortException("Invalid sort direction : " + sortDirection);
+        }
+        Sort.Direction direction = sortDirection.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort.Order order = new Sort.Order(direction, sortField);
+        return Sort.by(order);
+    }
+
 }
@@ -0,0 +1,93 @@
+package org.spring.generic.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.metamodel.ManagedType;
+import org.spring.generic.exception.InvalidCursorException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+class KeysetCursor {
+
+    private static final TypeReference<LinkedHashMap<String, Object>> CURSOR_TYPE = new TypeReference<>() {};
+
+    private static final String SORT = "sort";
+
+    private static final String KEYS = "keys";
+
+    private final ObjectMapper objectMapper;
+
+    private final ManagedType<?> entityType;
+
+    private final String idAttribute;
+
+    KeysetCursor(ObjectMapper objectMapper, ManagedType<?> entityType, String idAttribute) {
+        this.objectMapper = objectMapper;
+        this.entityType = entityType;
+        this.idAttribute = idAttribute;
+    }
+
+    /**
+     * Encodes the keys of {@code position} together with the {@code sort} they were read with.
+     */
+    String encode(KeysetScrollPosition position, Sort sort) {
+        Map<String, Object> cursor = new LinkedHashMap<>(2);
+        cursor.put(SORT, describe(sort));
+        cursor.put(KEYS, position.getKeys());
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(objectMapper.writeValueAsBytes(cursor));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to encode cursor", e);
+        }
+    }
+
+    /**
+     * Decodes a cursor issued for the same {@code sort}, properties and directions alike. Its keys are the sort
+     * properties plus the id.
+     */
+    KeysetScrollPosition decode(String cursor, Sort sort) {
+        if (cursor == null || cursor.isEmpty()) {
+            return ScrollPosition.keyset();
+        }
+        Set<String> expected = new HashSet<>();
+        sort.forEach(order -> expected.add(order.getProperty()));
+        expected.add(idAttribute);
+        try {
+            Map<String, Object> decoded = objectMapper.readValue(Base64.getUrlDecoder().decode(cursor), CURSOR_TYPE);
+            if (!describe(sort).equals(decoded.get(SORT))
+                    || !(decoded.get(KEYS) instanceof Map<?, ?> raw) || !raw.keySet().equals(expected)) {
+                throw new InvalidCursorException("Cursor does not match sort!");
+            }
+            Map<String, Object> keys = new LinkedHashMap<>(raw.size());
+            for (Map.Entry<?, ?> entry : raw.entrySet()) {
+                String attribute = (String) entry.getKey();
+                Class<?> javaType = entityType.getAttribute(attribute).getJavaType();
+                keys.put(attribute, objectMapper.convertValue(entry.getValue(), javaType));
+            }
+            return ScrollPosition.forward(keys);
+        } catch (InvalidCursorException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new InvalidCursorException("Invalid cursor!");
+        }
+    }
+
+    private static String describe(Sort sort) {
+        StringBuilder builder = new StringBuilder();
+        for (Sort.Order order : sort) {
+            if (!builder.isEmpty()) {
+                builder.append(';');
+            }
+            builder.append(order.getProperty()).append(',').append(order.getDirection().name().toLowerCase());
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,39 @@
+package org.spring.generic.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Marks the current thread as needing the primary for reads, so a client sees its own writes
+ * while the replica may still lag behind.
+ */
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    public static boolean isPrimaryRequired() {
+        return PRIMARY_REQUIRED.get() != null;
+    }
+
+    public static void requirePrimary() {
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+    }
+
+    public static void clear() {
+        PRIMARY_REQUIRED.remove();
+    }
+
+    public static <R> R onPrimary(Supplier<R> call) {
+        if (isPrimaryRequired()) {
+            return call.get();
+        }
+        requirePrimary();
+        try {
+            return call.get();
+        } finally {
+            clear();
+        }
+    }
+}
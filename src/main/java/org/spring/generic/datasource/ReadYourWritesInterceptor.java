@@ -0,0 +1,51 @@
+package org.spring.generic.datasource;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.spring.generic.controller.GenericController;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.util.WebUtils;
+
+import java.time.Duration;
+
+/**
+ * A write through a {@link GenericController} sets a short-lived cookie. Requests that carry it read from the
+ * primary until it expires, which should outlast the replication lag.
+ */
+public class ReadYourWritesInterceptor implements HandlerInterceptor {
+
+    public static final String COOKIE_NAME = "GENERIC_READ_PRIMARY";
+
+    private final int stickinessSeconds;
+
+    public ReadYourWritesInterceptor(Duration stickiness) {
+        this.stickinessSeconds = (int) stickiness.toSeconds();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod method && method.getBean() instanceof GenericController<?>)) {
+            return true;
+        }
+        HttpMethod httpMethod = HttpMethod.valueOf(request.getMethod());
+        if (httpMethod != HttpMethod.GET && httpMethod != HttpMethod.HEAD) {
+            Cookie cookie = new Cookie(COOKIE_NAME, "1");
+            cookie.setMaxAge(stickinessSeconds);
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            response.addCookie(cookie);
+            ReadYourWrites.requirePrimary();
+        } else if (WebUtils.getCookie(request, COOKIE_NAME) != null) {
+            ReadYourWrites.requirePrimary();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReadYourWrites.clear();
+    }
+}
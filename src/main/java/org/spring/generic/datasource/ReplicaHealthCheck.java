@@ -0,0 +1,78 @@
+package org.spring.generic.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validates a replica connection on a fixed interval. Reads go to the primary while the last check failed.
+ */
+public class ReplicaHealthCheck implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaHealthCheck.class);
+
+    private final DataSource replica;
+
+    private final int timeoutSeconds;
+
+    private final ScheduledExecutorService scheduler;
+
+    private volatile boolean replicaUp = true;
+
+    private volatile Instant lastCheck;
+
+    private volatile String lastError;
+
+    public ReplicaHealthCheck(DataSource replica, Duration interval, Duration timeout) {
+        this.replica = replica;
+        this.timeoutSeconds = (int) Math.max(1, timeout.toSeconds());
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::check, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isReplicaUp() {
+        return replicaUp;
+    }
+
+    public Instant getLastCheck() {
+        return lastCheck;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    void check() {
+        boolean up;
+        String error = null;
+        try (Connection connection = replica.getConnection()) {
+            up = connection.isValid(timeoutSeconds);
+        } catch (Exception e) {
+            up = false;
+            error = e.getMessage();
+        }
+        if (up != replicaUp) {
+            log.warn("Replica is {}, reads go to the {}", up ? "up" : "down", up ? "replica" : "primary");
+        }
+        replicaUp = up;
+        lastError = error;
+        lastCheck = Instant.now();
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+}
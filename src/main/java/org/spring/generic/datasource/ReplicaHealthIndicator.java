@@ -0,0 +1,30 @@
+package org.spring.generic.datasource;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+/**
+ * Stays UP while the replica is down, since reads fall back to the primary; the details show the routing.
+ */
+public class ReplicaHealthIndicator implements HealthIndicator {
+
+    private final ReplicaHealthCheck healthCheck;
+
+    public ReplicaHealthIndicator(ReplicaHealthCheck healthCheck) {
+        this.healthCheck = healthCheck;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = Health.up()
+                .withDetail("replica", healthCheck.isReplicaUp() ? "UP" : "DOWN")
+                .withDetail("reads", healthCheck.isReplicaUp() ? "replica" : "primary");
+        if (healthCheck.getLastCheck() != null) {
+            builder.withDetail("lastCheck", healthCheck.getLastCheck().toString());
+        }
+        if (healthCheck.getLastError() != null) {
+            builder.withDetail("error", healthCheck.getLastError());
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,108 @@
+package org.spring.generic.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Enabled by {@code generic.datasource.replica.url}. The primary is configured by {@code spring.datasource.*},
+ * the replica by {@code generic.datasource.replica.*} with the same keys.
+ */
+@AutoConfiguration(before = DataSourceAutoConfiguration.class)
+@ConditionalOnProperty(prefix = "generic.datasource.replica", name = "url")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReplicaRoutingConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties, Environment environment) {
+        return dataSource(properties, environment, "spring.datasource.hikari", "primary");
+    }
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource replicaDataSource(Environment environment) {
+        DataSourceProperties properties = Binder.get(environment)
+                .bind("generic.datasource.replica", DataSourceProperties.class)
+                .get();
+        HikariDataSource dataSource = dataSource(properties, environment, "generic.datasource.replica.hikari", "replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaHealthCheck replicaHealthCheck(@Qualifier("replicaDataSource") DataSource replica,
+            @Value("${generic.datasource.replica.health-check-interval:10s}") Duration interval,
+            @Value("${generic.datasource.replica.health-check-timeout:2s}") Duration timeout) {
+        return new ReplicaHealthCheck(replica, interval, timeout);
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(@Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica, ReplicaHealthCheck healthCheck) {
+        return new ReplicaRoutingDataSource(primary, replica, healthCheck);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    /**
+     * Hibernate otherwise holds the first connection for the whole session, which with open-in-view
+     * would reuse a replica connection for a later write in the same request.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer replicaConnectionHandling() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @Bean
+    public ReplicaHealthIndicator replicaHealthIndicator(ReplicaHealthCheck healthCheck) {
+        return new ReplicaHealthIndicator(healthCheck);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    static class ReadYourWritesConfiguration implements WebMvcConfigurer {
+
+        private final Duration stickiness;
+
+        ReadYourWritesConfiguration(@Value("${generic.datasource.replica.read-your-writes:5s}") Duration stickiness) {
+            this.stickiness = stickiness;
+        }
+
+        @Override
+        public void addInterceptors(InterceptorRegistry registry) {
+            registry.addInterceptor(new ReadYourWritesInterceptor(stickiness));
+        }
+    }
+
+    private static HikariDataSource dataSource(DataSourceProperties properties, Environment environment, String hikariPrefix, String poolName) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(poolName);
+        Binder.get(environment).bind(hikariPrefix, Bindable.ofInstance(dataSource));
+        return dataSource;
+    }
+}
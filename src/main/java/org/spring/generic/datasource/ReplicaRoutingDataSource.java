@@ -0,0 +1,41 @@
+package org.spring.generic.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary. Falls back to the
+ * primary while the replica is unhealthy or the thread requires {@link ReadYourWrites}. Must be wrapped
+ * in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} so the read-only flag
+ * is set before a connection is taken.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route { PRIMARY, REPLICA }
+
+    private final ReplicaHealthCheck healthCheck;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaHealthCheck healthCheck) {
+        this.healthCheck = healthCheck;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return currentRoute();
+    }
+
+    public Route currentRoute() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !ReadYourWrites.isPrimaryRequired()
+                && healthCheck.isReplicaUp()) {
+            return Route.REPLICA;
+        }
+        return Route.PRIMARY;
+    }
+}
@@ -0,0 +1,56 @@
+package org.spring.generic.encoding;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Smile ({@code application/x-jackson-smile}) and CBOR ({@code application/cbor}) converters that share the
+ * configuration and modules of the application {@link ObjectMapper}. With
+ * {@code generic.encoding.binary.enabled=false} both are removed, including the defaults Spring MVC registers
+ * whenever the dataformat jars are on the classpath.
+ */
+@AutoConfiguration(after = JacksonAutoConfiguration.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class BinaryEncodingConfiguration {
+
+    public static final String ENABLED_PROPERTY = "generic.encoding.binary.enabled";
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(name = ENABLED_PROPERTY, havingValue = "true", matchIfMissing = true)
+    static class BinaryConverters {
+
+        @Bean
+        public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(ObjectMapper objectMapper) {
+            return new MappingJackson2SmileHttpMessageConverter(objectMapper.copyWith(new SmileFactory()));
+        }
+
+        @Bean
+        public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(ObjectMapper objectMapper) {
+            return new MappingJackson2CborHttpMessageConverter(objectMapper.copyWith(new CBORFactory()));
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(name = ENABLED_PROPERTY, havingValue = "false")
+    static class WithoutBinaryConverters implements WebMvcConfigurer {
+
+        @Override
+        public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+            converters.removeIf(converter -> converter instanceof MappingJackson2SmileHttpMessageConverter
+                    || converter instanceof MappingJackson2CborHttpMessageConverter);
+        }
+    }
+}
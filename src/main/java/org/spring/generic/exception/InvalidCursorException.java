@@ -0,0 +1,8 @@
+package org.spring.generic.exception;
+
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String message){
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,8 @@
+package org.spring.generic.exception;
+
+public class InvalidFieldException extends RuntimeException {
+
+    public InvalidFieldException(String message){
+        super(message, null, false, false);
+    }
+}
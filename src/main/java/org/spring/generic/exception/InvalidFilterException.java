@@ -0,0 +1,8 @@
+package org.spring.generic.exception;
+
+public class InvalidFilterException extends RuntimeException {
+
+    public InvalidFilterException(String message){
+        super(message, null, false, false);
+    }
+}
@@ -3,6 +3,6 @@ package org.spring.generic.exception;
 public class InvalidIdException extends RuntimeException {
 
     public InvalidIdException(String message){
-        super(message);
+        super(message, null, false, false);
     }
 }
@@ -0,0 +1,8 @@
+package org.spring.generic.exception;
+
+public class InvalidSizeException extends RuntimeException {
+
+    public InvalidSizeException(String message){
+        super(message, null, false, false);
+    }
+}
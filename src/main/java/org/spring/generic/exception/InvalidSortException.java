@@ -0,0 +1,8 @@
+package org.spring.generic.exception;
+
+public class InvalidSortException extends RuntimeException {
+
+    public InvalidSortException(String message){
+        super(message, null, false, false);
+    }
+}
@@ -2,6 +2,6 @@ package org.spring.generic.exception;
 
 public class NoContentException extends RuntimeException {
     public NoContentException(String message){
-        super(message);
+        super(message, null, false, false);
     }
 }
@@ -0,0 +1,8 @@
+package org.spring.generic.exception;
+
+public class ServiceUnavailableException extends RuntimeException {
+
+    public ServiceUnavailableException(String message){
+        super(message, null, false, false);
+    }
+}
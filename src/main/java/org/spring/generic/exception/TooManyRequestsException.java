@@ -0,0 +1,19 @@
+package org.spring.generic.exception;
+
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message){
+        this(message, 1);
+    }
+
+    public TooManyRequestsException(String message, long retryAfterSeconds){
+        super(message, null, false, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
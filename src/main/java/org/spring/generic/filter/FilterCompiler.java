@@ -0,0 +1,128 @@
+package org.spring.generic.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.spring.generic.exception.InvalidFilterException;
+import org.spring.generic.service.EntityMetadata;
+import org.springframework.format.datetime.standard.DateTimeFormatterRegistrar;
+import org.springframework.format.support.DefaultFormattingConversionService;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles filter expressions such as {@code status==ACTIVE;created>2025-01-01} into
+ * {@link FilterPlan}s. Clauses are separated by {@code ;} and combined with AND, supported
+ * operators are {@code == != > >= < <= =in=} and {@code =in=} takes a comma separated list.
+ */
+public class FilterCompiler<T> {
+
+    private static final int DEFAULT_PLAN_CACHE_SIZE = 1000;
+
+    private static final Pattern CLAUSE = Pattern.compile("^\\s*([A-Za-z_][A-Za-z0-9_]*)\\s*(==|!=|>=|<=|=in=|>|<)(.*)$");
+
+    private static final DefaultFormattingConversionService CONVERSION_SERVICE = conversionService();
+
+    private final EntityMetadata<T> metadata;
+
+    private final Cache<String, FilterPlan<T>> plans;
+
+    private boolean allowUnindexed;
+
+    public FilterCompiler(EntityMetadata<T> metadata) {
+        this(metadata, DEFAULT_PLAN_CACHE_SIZE);
+    }
+
+    public FilterCompiler(EntityMetadata<T> metadata, long planCacheSize) {
+        this.metadata = metadata;
+        this.plans = Caffeine.newBuilder().maximumSize(planCacheSize).build();
+    }
+
+    public void setAllowUnindexed(boolean allowUnindexed) {
+        this.allowUnindexed = allowUnindexed;
+        this.plans.invalidateAll();
+    }
+
+    public FilterPlan<T> compile(String filter) {
+        return plans.get(filter.trim(), this::parse);
+    }
+
+    private FilterPlan<T> parse(String filter) {
+        List<FilterPlan.Condition> conditions = new ArrayList<>();
+        Set<String> unindexed = new LinkedHashSet<>();
+        for (String clause : filter.split(";")) {
+            if (clause.isBlank()) {
+                continue;
+            }
+            Matcher matcher = CLAUSE.matcher(clause);
+            if (!matcher.matches()) {
+                throw new InvalidFilterException("Invalid filter : " + clause);
+            }
+            String attribute = matcher.group(1);
+            if (!metadata.getSelectableAttributes().contains(attribute)) {
+                throw new InvalidFilterException("Invalid filter field : " + attribute);
+            }
+            if (!metadata.getIndexedAttributes().contains(attribute)) {
+                unindexed.add(attribute);
+            }
+            FilterPlan.Operator operator = operator(matcher.group(2));
+            conditions.add(new FilterPlan.Condition(attribute, operator, value(attribute, operator, matcher.group(3).trim())));
+        }
+        if (conditions.isEmpty()) {
+            throw new InvalidFilterException("Invalid filter : " + filter);
+        }
+        if (!unindexed.isEmpty() && !allowUnindexed) {
+            throw new InvalidFilterException("Filter on non-indexed field : " + String.join(",", unindexed));
+        }
+        return new FilterPlan<>(List.copyOf(conditions), Set.copyOf(unindexed));
+    }
+
+    private Object value(String attribute, FilterPlan.Operator operator, String raw) {
+        Class<?> javaType = metadata.getEntityType().getAttribute(attribute).getJavaType();
+        try {
+            if (operator == FilterPlan.Operator.IN) {
+                List<Object> values = new ArrayList<>();
+                for (String item : raw.split(",")) {
+                    values.add(CONVERSION_SERVICE.convert(item.trim(), javaType));
+                }
+                return values;
+            }
+            if (raw.equals("null") && (operator == FilterPlan.Operator.EQ || operator == FilterPlan.Operator.NE)) {
+                return null;
+            }
+            Object value = CONVERSION_SERVICE.convert(raw, javaType);
+            if (operator != FilterPlan.Operator.EQ && operator != FilterPlan.Operator.NE && !(value instanceof Comparable)) {
+                throw new InvalidFilterException("Field is not comparable : " + attribute);
+            }
+            return value;
+        } catch (InvalidFilterException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new InvalidFilterException("Invalid filter value for " + attribute + " : " + raw);
+        }
+    }
+
+    private static FilterPlan.Operator operator(String token) {
+        return switch (token) {
+            case "==" -> FilterPlan.Operator.EQ;
+            case "!=" -> FilterPlan.Operator.NE;
+            case ">" -> FilterPlan.Operator.GT;
+            case ">=" -> FilterPlan.Operator.GE;
+            case "<" -> FilterPlan.Operator.LT;
+            case "<=" -> FilterPlan.Operator.LE;
+            default -> FilterPlan.Operator.IN;
+        };
+    }
+
+    private static DefaultFormattingConversionService conversionService() {
+        DefaultFormattingConversionService conversionService = new DefaultFormattingConversionService(false);
+        DateTimeFormatterRegistrar registrar = new DateTimeFormatterRegistrar();
+        registrar.setUseIsoFormat(true);
+        registrar.registerFormatters(conversionService);
+        return conversionService;
+    }
+}
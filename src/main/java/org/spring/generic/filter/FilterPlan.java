@@ -0,0 +1,61 @@
+package org.spring.generic.filter;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Compiled, immutable form of a filter expression. Values are already converted to the
+ * attribute types, so a cached plan is reused as is for every request with the same filter.
+ */
+public final class FilterPlan<T> implements Specification<T> {
+
+    public enum Operator { EQ, NE, GT, GE, LT, LE, IN }
+
+    record Condition(String attribute, Operator operator, Object value) {
+    }
+
+    private final List<Condition> conditions;
+
+    private final Set<String> unindexedAttributes;
+
+    FilterPlan(List<Condition> conditions, Set<String> unindexedAttributes) {
+        this.conditions = conditions;
+        this.unindexedAttributes = unindexedAttributes;
+    }
+
+    public Set<String> getUnindexedAttributes() {
+        return unindexedAttributes;
+    }
+
+    @Override
+    public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder builder) {
+        Predicate[] predicates = new Predicate[conditions.size()];
+        for (int i = 0; i < predicates.length; i++) {
+            predicates[i] = toPredicate(conditions.get(i), root, builder);
+        }
+        return builder.and(predicates);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate toPredicate(Condition condition, Root<?> root, CriteriaBuilder builder) {
+        Expression path = root.get(condition.attribute());
+        Object value = condition.value();
+        return switch (condition.operator()) {
+            case EQ -> value == null ? builder.isNull(path) : builder.equal(path, value);
+            case NE -> value == null ? builder.isNotNull(path) : builder.notEqual(path, value);
+            case GT -> builder.greaterThan(path, (Comparable) value);
+            case GE -> builder.greaterThanOrEqualTo(path, (Comparable) value);
+            case LT -> builder.lessThan(path, (Comparable) value);
+            case LE -> builder.lessThanOrEqualTo(path, (Comparable) value);
+            case IN -> path.in((Collection<?>) value);
+        };
+    }
+}
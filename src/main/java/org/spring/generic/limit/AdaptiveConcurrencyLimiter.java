@@ -0,0 +1,58 @@
+package org.spring.generic.limit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that adapts to latency: it grows by one per limit's worth of fast responses while in use,
+ * and shrinks by {@code backoff} on every response slower than {@code targetLatency} or failing with a 5xx.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final long targetLatencyNanos;
+
+    private final double backoff;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, Duration targetLatency, double backoff) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatencyNanos = targetLatency.toNanos();
+        this.backoff = backoff;
+        this.limit = initialLimit;
+    }
+
+    public boolean tryAcquire() {
+        if (inFlight.incrementAndGet() > (int) limit) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    public void release(long latencyNanos, boolean failed) {
+        int active = inFlight.getAndDecrement();
+        synchronized (this) {
+            if (failed || latencyNanos > targetLatencyNanos) {
+                limit = Math.max(minLimit, limit * backoff);
+            } else if (active * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,73 @@
+package org.spring.generic.limit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.spring.generic.concurrency.ConcurrencyLimitConfiguration;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * Enabled with {@code generic.limit.enabled=true}. Rate limiting is skipped when
+ * {@code generic.limit.rate.refill-per-second} is 0. Buckets are keyed by remote address unless
+ * {@code generic.limit.rate.client-header} names a header set by a trusted gateway.
+ */
+@AutoConfiguration(before = ConcurrencyLimitConfiguration.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "generic.limit", name = "enabled", havingValue = "true")
+public class LoadSheddingConfiguration implements WebMvcConfigurer {
+
+    private final RequestCost requestCost;
+
+    private final LoadSheddingInterceptor interceptor;
+
+    public LoadSheddingConfiguration(
+            @Value("${generic.limit.max-page-size:1000}") int maxPageSize,
+            @Value("${generic.limit.max-batch-size:1000}") int maxBatchSize,
+            @Value("${generic.limit.rows-per-token:100}") int rowsPerToken,
+            @Value("${generic.limit.list-cost:50}") int listCost,
+            @Value("${generic.limit.batch-cost:10}") int batchCost,
+            @Value("${generic.limit.rate.capacity:100}") int capacity,
+            @Value("${generic.limit.rate.refill-per-second:50}") double refillPerSecond,
+            @Value("${generic.limit.rate.client-header:}") String clientHeader,
+            @Value("${generic.limit.rate.maximum-keys:100000}") long maximumKeys,
+            @Value("${generic.limit.adaptive.initial-limit:${spring.datasource.hikari.maximum-pool-size:10}}") int initialLimit,
+            @Value("${generic.limit.adaptive.min-limit:1}") int minLimit,
+            @Value("${generic.limit.adaptive.max-limit:200}") int maxLimit,
+            @Value("${generic.limit.adaptive.target-latency:250ms}") Duration targetLatency,
+            @Value("${generic.limit.adaptive.backoff:0.9}") double backoff,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.requestCost = new RequestCost(maxPageSize, maxBatchSize, rowsPerToken, listCost, batchCost);
+        RateLimiter rateLimiter = refillPerSecond > 0
+                ? new RateLimiter(capacity, refillPerSecond, maximumKeys, Duration.ofSeconds((long) Math.ceil(capacity / refillPerSecond)))
+                : null;
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        this.interceptor = new LoadSheddingInterceptor(rateLimiter, requestCost, clientHeader, entity -> {
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, targetLatency, backoff);
+            if (registry != null) {
+                Gauge.builder("generic.limit.concurrency", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                        .description("Adaptive concurrency limit").tag("entity", entity).register(registry);
+                Gauge.builder("generic.limit.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                        .description("Requests holding an adaptive limit slot").tag("entity", entity).register(registry);
+            }
+            return limiter;
+        });
+    }
+
+    @Bean
+    public RequestCost requestCost() {
+        return requestCost;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptor);
+    }
+}
@@ -0,0 +1,91 @@
+package org.spring.generic.limit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.spring.generic.controller.GenericController;
+import org.spring.generic.exception.ServiceUnavailableException;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.util.StringUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+
+/**
+ * Charges {@link GenericController} requests to a rate limit bucket per entity, endpoint and client, then takes a
+ * slot from the adaptive limiter of the entity. Rejections are thrown before the handler runs, so they are
+ * answered by the controller advice without touching the database.
+ * <p>
+ * The client is the remote address, or the value of {@code clientHeader} when one is given. That header is sent
+ * by the caller, so it must only be used behind a gateway that overwrites it.
+ */
+public class LoadSheddingInterceptor implements HandlerInterceptor {
+
+    private static final String LIMITER = LoadSheddingInterceptor.class.getName() + ".limiter";
+
+    private static final String START = LoadSheddingInterceptor.class.getName() + ".start";
+
+    private final RateLimiter rateLimiter;
+
+    private final RequestCost requestCost;
+
+    private final String clientHeader;
+
+    private final Function<String, AdaptiveConcurrencyLimiter> limiterFactory;
+
+    private final Map<Class<?>, String> entities = new ConcurrentHashMap<>();
+
+    private final Map<String, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+
+    public LoadSheddingInterceptor(RateLimiter rateLimiter, RequestCost requestCost, String clientHeader,
+                                   Function<String, AdaptiveConcurrencyLimiter> limiterFactory) {
+        this.rateLimiter = rateLimiter;
+        this.requestCost = requestCost;
+        this.clientHeader = StringUtils.hasText(clientHeader) ? clientHeader : null;
+        this.limiterFactory = limiterFactory;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod method && method.getBean() instanceof GenericController<?>)) {
+            return true;
+        }
+        String entity = entities.computeIfAbsent(method.getBeanType(), LoadSheddingInterceptor::entity);
+        if (rateLimiter != null) {
+            String key = entity + '#' + method.getMethod().getName() + '#' + client(request);
+            rateLimiter.acquire(key, requestCost.of(request));
+            if (RequestCost.isBatch(request)) {
+                request.setAttribute(RequestCost.BATCH_CHARGE, (IntConsumer) items -> rateLimiter.acquire(key, requestCost.ofBatch(items)));
+            }
+        }
+        AdaptiveConcurrencyLimiter limiter = limiters.computeIfAbsent(entity, limiterFactory);
+        if (!limiter.tryAcquire()) {
+            throw new ServiceUnavailableException("Server busy, retry later!");
+        }
+        request.setAttribute(LIMITER, limiter);
+        request.setAttribute(START, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(LIMITER) instanceof AdaptiveConcurrencyLimiter limiter
+                && request.getAttribute(START) instanceof Long start) {
+            request.removeAttribute(LIMITER);
+            limiter.release(System.nanoTime() - start, ex != null || response.getStatus() >= 500);
+        }
+    }
+
+    private String client(HttpServletRequest request) {
+        String client = clientHeader == null ? null : request.getHeader(clientHeader);
+        return client == null ? request.getRemoteAddr() : client;
+    }
+
+    private static String entity(Class<?> controller) {
+        Class<?> type = GenericTypeResolver.resolveTypeArgument(controller, GenericController.class);
+        return type == null ? controller.getSimpleName() : type.getSimpleName();
+    }
+}
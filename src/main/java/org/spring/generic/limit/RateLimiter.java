@@ -0,0 +1,44 @@
+package org.spring.generic.limit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.spring.generic.exception.TooManyRequestsException;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link TokenBucket} per key. Idle buckets are dropped after {@code idleTimeout}, by then they are full again.
+ */
+public class RateLimiter {
+
+    private final Cache<String, TokenBucket> buckets;
+
+    private final int capacity;
+
+    private final double refillPerSecond;
+
+    public RateLimiter(int capacity, double refillPerSecond, long maximumKeys, Duration idleTimeout) {
+        this.capacity = capacity;
+        this.refillPerSecond = refillPerSecond;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(idleTimeout)
+                .build();
+    }
+
+    /**
+     * @throws TooManyRequestsException when the bucket of {@code key} holds fewer than {@code cost} tokens
+     */
+    public void acquire(String key, int cost) {
+        long waitNanos = buckets.get(key, k -> new TokenBucket(capacity, refillPerSecond)).tryAcquire(Math.min(cost, capacity));
+        if (waitNanos > 0) {
+            throw new TooManyRequestsException("Rate limit exceeded, retry later!",
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1)));
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+}
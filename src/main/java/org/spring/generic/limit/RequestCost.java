@@ -0,0 +1,80 @@
+package org.spring.generic.limit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpMethod;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Token cost of a {@code GenericController} request. Full lists cost {@code listCost}, pages one token plus
+ * one per {@code rowsPerToken} rows, batch writes {@code batchCost} plus one per {@code rowsPerToken} items and
+ * everything else one token.
+ * <p>
+ * The items of a batch are only known once the body is read, so the interceptor charges {@code batchCost} up
+ * front and leaves an {@link IntConsumer} under {@link #BATCH_CHARGE} that the controller calls with the item
+ * count before writing anything.
+ */
+public class RequestCost {
+
+    public static final String BATCH_CHARGE = RequestCost.class.getName() + ".batchCharge";
+
+    private static final int DEFAULT_PAGE_SIZE = 10;
+
+    private final int maxPageSize;
+
+    private final int maxBatchSize;
+
+    private final int rowsPerToken;
+
+    private final int listCost;
+
+    private final int batchCost;
+
+    public RequestCost(int maxPageSize, int maxBatchSize, int rowsPerToken, int listCost, int batchCost) {
+        this.maxPageSize = maxPageSize;
+        this.maxBatchSize = maxBatchSize;
+        this.rowsPerToken = rowsPerToken;
+        this.listCost = listCost;
+        this.batchCost = batchCost;
+    }
+
+    public int of(HttpServletRequest request) {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return isBatch(request) ? batchCost : 1;
+        }
+        if (Boolean.parseBoolean(request.getParameter("isList"))) {
+            return listCost;
+        }
+        return 1 + pageSize(request.getParameter("size")) / rowsPerToken;
+    }
+
+    /**
+     * Tokens for the items of a batch, on top of the {@code batchCost} charged by {@link #of}.
+     */
+    public int ofBatch(int items) {
+        return (items + rowsPerToken - 1) / rowsPerToken;
+    }
+
+    public static boolean isBatch(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod()) && request.getRequestURI().endsWith("/batch");
+    }
+
+    public int getMaxPageSize() {
+        return maxPageSize;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    private int pageSize(String size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        try {
+            return Math.min(Math.max(Integer.parseInt(size), 0), maxPageSize);
+        } catch (NumberFormatException e) {
+            return DEFAULT_PAGE_SIZE;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package org.spring.generic.limit;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds up to {@code capacity} tokens, refilled continuously at {@code refillPerSecond}.
+ */
+public class TokenBucket {
+
+    private final double capacity;
+
+    private final double refillPerNano;
+
+    private double tokens;
+
+    private long refilledAt;
+
+    public TokenBucket(int capacity, double refillPerSecond) {
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.tokens = capacity;
+        this.refilledAt = System.nanoTime();
+    }
+
+    /**
+     * @return 0 when {@code cost} tokens were taken, otherwise the nanoseconds until they will be available
+     */
+    public synchronized long tryAcquire(int cost) {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - refilledAt) * refillPerNano);
+        refilledAt = now;
+        if (tokens >= cost) {
+            tokens -= cost;
+            return 0;
+        }
+        return (long) Math.ceil((cost - tokens) / refillPerNano);
+    }
+}
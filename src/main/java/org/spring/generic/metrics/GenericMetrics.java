@@ -0,0 +1,131 @@
+package org.spring.generic.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import org.spring.generic.cache.CountCache;
+import org.spring.generic.cache.EntityCache;
+import org.spring.generic.service.WriteBehindQueue;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Per entity type meters for the generic endpoints. Query time is recorded around the service call,
+ * serialize time from the end of the handler until the response is complete. Streamed reads interleave
+ * both, so they are recorded as a single query timing.
+ */
+public class GenericMetrics {
+
+    public static final String FIND_ALL_PAGE = "findAll-page";
+    public static final String FIND_ALL_SLICE = "findAll-slice";
+    public static final String FIND_ALL_LIST = "findAll-list";
+    public static final String FIND_ALL_STREAM = "findAll-stream";
+    public static final String FIND_ALL_SCROLL = "findAll-scroll";
+    public static final String FIND_BY_ID = "findById";
+    public static final String SAVE = "save";
+    public static final String UPDATE = "update";
+    public static final String DELETE = "delete";
+    public static final String SAVE_BATCH = "save-batch";
+    public static final String DELETE_BATCH = "delete-batch";
+
+    private static final String SERIALIZE_START = GenericMetrics.class.getName() + ".serializeStart";
+    private static final String SERIALIZE_TIMER = GenericMetrics.class.getName() + ".serializeTimer";
+
+    private final MeterRegistry registry;
+
+    private final String entity;
+
+    private final Map<String, Timer> queryTimers = new ConcurrentHashMap<>();
+
+    private final Map<String, Timer> serializeTimers = new ConcurrentHashMap<>();
+
+    private final Map<String, DistributionSummary> rowSummaries = new ConcurrentHashMap<>();
+
+    private final DistributionSummary pageSizes;
+
+    public GenericMetrics(MeterRegistry registry, String entity) {
+        this.registry = registry;
+        this.entity = entity;
+        this.pageSizes = DistributionSummary.builder("generic.page.size")
+                .description("Requested page size")
+                .tag("entity", entity)
+                .register(registry);
+    }
+
+    public <R> R recordQuery(String operation, Supplier<R> query) {
+        return queryTimers.computeIfAbsent(operation, key -> Timer.builder("generic.query")
+                .description("Time spent in the service and database")
+                .tag("entity", entity)
+                .tag("operation", key)
+                .publishPercentileHistogram()
+                .register(registry)).record(query);
+    }
+
+    public void recordQuery(String operation, Runnable query) {
+        recordQuery(operation, () -> {
+            query.run();
+            return null;
+        });
+    }
+
+    public void recordRows(String operation, long rows) {
+        rowSummaries.computeIfAbsent(operation, key -> DistributionSummary.builder("generic.rows")
+                .description("Rows returned or written")
+                .tag("entity", entity)
+                .tag("operation", key)
+                .register(registry)).record(rows);
+    }
+
+    public void recordPageSize(int size) {
+        pageSizes.record(size);
+    }
+
+    /**
+     * Marks the end of the handler; {@link SerializeTimingInterceptor} records the rest of the request.
+     */
+    public void startSerialize(WebRequest request, String operation) {
+        Timer timer = serializeTimers.computeIfAbsent(operation, key -> Timer.builder("generic.serialize")
+                .description("Time spent serializing and writing the response")
+                .tag("entity", entity)
+                .tag("operation", key)
+                .register(registry));
+        request.setAttribute(SERIALIZE_TIMER, timer, RequestAttributes.SCOPE_REQUEST);
+        request.setAttribute(SERIALIZE_START, System.nanoTime(), RequestAttributes.SCOPE_REQUEST);
+    }
+
+    public void bindCache(EntityCache<?> cache) {
+        FunctionCounter.builder("generic.cache.hits", cache, EntityCache::hitCount).tag("entity", entity).register(registry);
+        FunctionCounter.builder("generic.cache.misses", cache, EntityCache::missCount).tag("entity", entity).register(registry);
+        FunctionCounter.builder("generic.cache.evictions", cache, EntityCache::evictionCount).tag("entity", entity).register(registry);
+    }
+
+    public void bindCountCache(CountCache cache) {
+        FunctionCounter.builder("generic.count.cache.hits", cache, CountCache::hitCount).tag("entity", entity).register(registry);
+        FunctionCounter.builder("generic.count.cache.misses", cache, CountCache::missCount).tag("entity", entity).register(registry);
+    }
+
+    public void bindWriteBehind(WriteBehindQueue<?> queue) {
+        Gauge.builder("generic.writebehind.depth", queue, WriteBehindQueue::getDepth).tag("entity", entity).register(registry);
+        FunctionTimer.builder("generic.writebehind.flush", queue, WriteBehindQueue::getFlushCount, q -> q.getFlushTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS)
+                .tag("entity", entity).register(registry);
+        FunctionCounter.builder("generic.writebehind.rows", queue, WriteBehindQueue::getFlushedRows).tag("entity", entity).register(registry);
+        FunctionCounter.builder("generic.writebehind.failed", queue, WriteBehindQueue::getFailedRows).tag("entity", entity).register(registry);
+    }
+
+    static void recordSerialize(HttpServletRequest request) {
+        Object timer = request.getAttribute(SERIALIZE_TIMER);
+        Object start = request.getAttribute(SERIALIZE_START);
+        if (timer instanceof Timer serializeTimer && start instanceof Long startNanos) {
+            serializeTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
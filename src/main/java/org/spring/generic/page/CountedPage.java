@@ -0,0 +1,24 @@
+package org.spring.generic.page;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+public class CountedPage<T> extends PageImpl<T> {
+
+    private final boolean totalEstimated;
+
+    public CountedPage(List<T> content, Pageable pageable, long total, boolean totalEstimated) {
+        super(content, pageable, total);
+        this.totalEstimated = totalEstimated;
+    }
+
+    /**
+     * True when the total came from database statistics or the count cache rather than a count query
+     * run for this request.
+     */
+    public boolean isTotalEstimated() {
+        return totalEstimated;
+    }
+}
@@ -0,0 +1,20 @@
+package org.spring.generic.page;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+
+public class CursorSlice<T> extends SliceImpl<T> {
+
+    private final String next;
+
+    public CursorSlice(List<T> content, Pageable pageable, boolean hasNext, String next) {
+        super(content, pageable, hasNext);
+        this.next = next;
+    }
+
+    public String getNext() {
+        return next;
+    }
+}
@@ -1,8 +1,42 @@
 package org.spring.generic.repo;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 @NoRepositoryBean
-public interface GenericRepository<T> extends JpaRepository<T, Long> {
+public interface GenericRepository<T> extends JpaRepository<T, Long>, JpaSpecificationExecutor<T> {
+
+    String STREAM_FETCH_SIZE = "500";
+
+    @Query("select e from #{#entityName} e")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<T> streamAll();
+
+    @Query("select e.id from #{#entityName} e where e.id in :ids")
+    List<Long> findIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from #{#entityName} e where e.id = :id")
+    int deleteDirectlyById(@Param("id") Long id);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from #{#entityName} e where e.id in :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
 }
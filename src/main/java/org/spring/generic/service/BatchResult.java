@@ -0,0 +1,35 @@
+package org.spring.generic.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class BatchResult {
+
+    public enum Status { SAVED, DELETED, INVALID, NOT_FOUND, FAILED }
+
+    private int index;
+    private Long id;
+    private Status status;
+    private List<String> details;
+
+    public BatchResult(int index, Long id, Status status, List<String> details) {
+        this.index = index;
+        this.id = id;
+        this.status = status;
+        this.details = details;
+    }
+
+    public BatchResult(int index, Long id, Status status) {
+        this(index, id, status, null);
+    }
+
+    @JsonIgnore
+    public boolean isSuccess() {
+        return status == Status.SAVED || status == Status.DELETED;
+    }
+}
@@ -0,0 +1,284 @@
+package org.spring.generic.service;
+
+import jakarta.persistence.Basic;
+import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
+import jakarta.persistence.ManyToMany;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PreRemove;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.Metamodel;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.SQLDelete;
+import org.hibernate.annotations.SoftDelete;
+import org.spring.generic.exception.InvalidFieldException;
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Per entity class facts derived once from the JPA metamodel and the mapping annotations.
+ */
+public final class EntityMetadata<T> {
+
+    private final EntityType<T> entityType;
+
+    private final String idAttribute;
+
+    private final boolean requiresEntityDelete;
+
+    private final SingularAttribute<? super T, ?> versionAttribute;
+
+    private final Field versionField;
+
+    private final Set<String> selectableAttributes;
+
+    private final Set<String> indexedAttributes;
+
+    private final boolean cacheable;
+
+    private EntityMetadata(EntityType<T> entityType) {
+        this.entityType = entityType;
+        this.idAttribute = entityType.getId(entityType.getIdType().getJavaType()).getName();
+        this.requiresEntityDelete = requiresEntityDelete(entityType.getJavaType());
+        this.versionAttribute = entityType.hasVersionAttribute()
+                ? entityType.getSingularAttributes().stream().filter(SingularAttribute::isVersion).findFirst().orElse(null)
+                : null;
+        this.versionField = versionAttribute == null ? null
+                : ReflectionUtils.findField(entityType.getJavaType(), versionAttribute.getName());
+        if (versionField != null) {
+            ReflectionUtils.makeAccessible(versionField);
+        }
+        this.selectableAttributes = entityType.getSingularAttributes().stream()
+                .filter(attribute -> attribute.getPersistentAttributeType() == Attribute.PersistentAttributeType.BASIC)
+                .map(Attribute::getName)
+                .collect(Collectors.toUnmodifiableSet());
+        this.indexedAttributes = indexedAttributes(entityType.getJavaType(), idAttribute, selectableAttributes);
+        this.cacheable = entityType.getPluralAttributes().isEmpty() && !hasLazyAttribute(entityType.getJavaType());
+    }
+
+    /**
+     * Derives the metadata from the given metamodel. Callers keep the result, it is not cached here so
+     * it never outlives the persistence unit it was read from.
+     */
+    public static <T> EntityMetadata<T> of(Class<T> type, Metamodel metamodel) {
+        return new EntityMetadata<>(metamodel.entity(type));
+    }
+
+    public EntityType<T> getEntityType() {
+        return entityType;
+    }
+
+    /**
+     * Whether a delete has to go through {@code EntityManager.remove} because a bulk
+     * {@code DELETE} statement would skip callbacks, listeners, cascades, a custom delete, or the foreign keys
+     * Hibernate clears for a {@code @OneToMany} without {@code mappedBy}.
+     */
+    public boolean requiresEntityDelete() {
+        return requiresEntityDelete;
+    }
+
+    public String getIdAttribute() {
+        return idAttribute;
+    }
+
+    public Set<String> getSelectableAttributes() {
+        return selectableAttributes;
+    }
+
+    /**
+     * Attributes that are the id, unique, a natural id or the leading column of a declared
+     * index or unique constraint, so filtering on them does not force a full table scan.
+     */
+    public Set<String> getIndexedAttributes() {
+        return indexedAttributes;
+    }
+
+    /**
+     * Validates the requested field names against the basic attributes of the entity. An empty list is rejected.
+     */
+    public List<String> resolveFields(String[] fields) {
+        List<String> resolved = new ArrayList<>(fields.length);
+        for (String field : fields) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!selectableAttributes.contains(name)) {
+                throw new InvalidFieldException("Invalid field : " + name);
+            }
+            if (!resolved.contains(name)) {
+                resolved.add(name);
+            }
+        }
+        if (resolved.isEmpty()) {
+            throw new InvalidFieldException("At least one field is required!");
+        }
+        return resolved;
+    }
+
+    /**
+     * Whether instances can be shared through an {@code EntityCache}: the entity has no collections and no lazy
+     * attributes, so a cached copy never needs the session it was loaded in.
+     */
+    public boolean isCacheable() {
+        return cacheable;
+    }
+
+    /**
+     * A new, unmanaged instance with the field values of {@code entity}. Embedded and eager to-one values are
+     * shared with the original.
+     */
+    public T copy(T entity) {
+        T copy = BeanUtils.instantiateClass(entityType.getJavaType());
+        ReflectionUtils.shallowCopyFieldState(Hibernate.unproxy(entity), copy);
+        return copy;
+    }
+
+    public boolean isVersioned() {
+        return versionField != null;
+    }
+
+    public Object getVersion(T entity) {
+        return versionField == null ? null : ReflectionUtils.getField(versionField, entity);
+    }
+
+    /**
+     * @throws OptimisticLockingFailureException when {@code version} is not a value of the version attribute,
+     * so it cannot match the current version either
+     */
+    public void setVersion(T entity, String version) {
+        if (versionField != null) {
+            Object value;
+            try {
+                value = DefaultConversionService.getSharedInstance().convert(version, versionAttribute.getJavaType());
+            } catch (ConversionException e) {
+                throw new OptimisticLockingFailureException("Invalid version : " + version, e);
+            }
+            ReflectionUtils.setField(versionField, entity, value);
+        }
+    }
+
+    private static Set<String> indexedAttributes(Class<?> type, String idAttribute, Set<String> attributes) {
+        Set<String> leadingColumns = new HashSet<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            Table table = current.getAnnotation(Table.class);
+            if (table != null) {
+                for (Index index : table.indexes()) {
+                    leadingColumns.add(normalize(index.columnList().split(",")[0].trim().split("\\s+")[0]));
+                }
+                for (UniqueConstraint constraint : table.uniqueConstraints()) {
+                    if (constraint.columnNames().length > 0) {
+                        leadingColumns.add(normalize(constraint.columnNames()[0]));
+                    }
+                }
+            }
+        }
+        Set<String> indexed = new HashSet<>();
+        indexed.add(idAttribute);
+        for (String attribute : attributes) {
+            Field field = ReflectionUtils.findField(type, attribute);
+            if (field == null) {
+                continue;
+            }
+            Column column = field.getAnnotation(Column.class);
+            String columnName = column != null && !column.name().isEmpty() ? column.name() : attribute;
+            if ((column != null && column.unique()) || field.isAnnotationPresent(NaturalId.class)
+                    || leadingColumns.contains(normalize(columnName))) {
+                indexed.add(attribute);
+            }
+        }
+        return Set.copyOf(indexed);
+    }
+
+    private static String normalize(String name) {
+        return name.replace("_", "").replace("`", "").replace("\"", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean hasLazyAttribute(Class<?> type) {
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (isLazy(field)) {
+                    return true;
+                }
+            }
+            for (Method method : current.getDeclaredMethods()) {
+                if (isLazy(method)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isLazy(AnnotatedElement element) {
+        ManyToOne manyToOne = element.getAnnotation(ManyToOne.class);
+        OneToOne oneToOne = element.getAnnotation(OneToOne.class);
+        Basic basic = element.getAnnotation(Basic.class);
+        return (manyToOne != null && manyToOne.fetch() == FetchType.LAZY)
+                || (oneToOne != null && oneToOne.fetch() == FetchType.LAZY)
+                || (basic != null && basic.fetch() == FetchType.LAZY);
+    }
+
+    private static boolean requiresEntityDelete(Class<?> type) {
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            if (current.isAnnotationPresent(EntityListeners.class) || current.isAnnotationPresent(SQLDelete.class)
+                    || current.isAnnotationPresent(SoftDelete.class)) {
+                return true;
+            }
+            for (Method method : current.getDeclaredMethods()) {
+                if (method.isAnnotationPresent(PreRemove.class) || method.isAnnotationPresent(PostRemove.class)
+                        || cascadesRemove(method)) {
+                    return true;
+                }
+            }
+            for (Field field : current.getDeclaredFields()) {
+                if (cascadesRemove(field)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean cascadesRemove(AnnotatedElement element) {
+        if (element.isAnnotationPresent(ElementCollection.class) || element.isAnnotationPresent(ManyToMany.class)) {
+            return true;
+        }
+        OneToMany oneToMany = element.getAnnotation(OneToMany.class);
+        if (oneToMany != null && (oneToMany.mappedBy().isEmpty() || oneToMany.orphanRemoval() || removes(oneToMany.cascade()))) {
+            return true;
+        }
+        OneToOne oneToOne = element.getAnnotation(OneToOne.class);
+        return oneToOne != null && (oneToOne.orphanRemoval() || removes(oneToOne.cascade()));
+    }
+
+    private static boolean removes(CascadeType[] cascade) {
+        return Arrays.stream(cascade).anyMatch(type -> type == CascadeType.ALL || type == CascadeType.REMOVE);
+    }
+}
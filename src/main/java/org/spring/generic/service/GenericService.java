@@ -1,38 +1,693 @@
 package org.spring.generic.service;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceUnitUtil;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.jpa.HibernateHints;
+import org.spring.generic.cache.CountCache;
+import org.spring.generic.cache.CountEstimator;
+import org.spring.generic.cache.EntityCache;
+import org.spring.generic.concurrency.ConcurrencyLimiter;
 import org.spring.generic.exception.InvalidIdException;
+import org.spring.generic.filter.FilterCompiler;
+import org.spring.generic.filter.FilterPlan;
+import org.spring.generic.page.CountedPage;
 import org.spring.generic.repo.GenericRepository;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.repository.query.FluentQuery;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 public abstract class GenericService<T> {
 
+    private static final int DEFAULT_CLEAR_INTERVAL = 1000;
+
+    private static final int DEFAULT_BATCH_SIZE = 50;
+
+    private static final Object UNFILTERED = new Object();
+
     private final GenericRepository<T> repository;
 
+    private final Class<T> type;
+
+    private EntityMetadata<T> metadata;
+
+    private EntityManager entityManager;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    private TransactionTemplate writeTransaction;
+
+    private Validator validator;
+
+    private int clearInterval = DEFAULT_CLEAR_INTERVAL;
+
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    private EntityCache<T> entityCache;
+
+    private FilterCompiler<T> filterCompiler;
+
+    private boolean allowUnindexedFilters;
+
+    private Executor asyncExecutor = Runnable::run;
+
+    private CountCache countCache;
+
+    private CountEstimator countEstimator;
+
+    private ConcurrencyLimiter concurrencyLimiter;
+
+    private WriteBehindQueue<T> writeBehind;
+
     public GenericService(GenericRepository<T> genericRepository){
+        this(genericRepository, null);
+    }
+
+    public GenericService(GenericRepository<T> genericRepository, Class<T> type){
         this.repository = genericRepository;
+        this.type = type;
+    }
+
+    public void setEntityManager(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    public void setTransactionManager(PlatformTransactionManager transactionManager) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    public void setValidator(Validator validator) {
+        this.validator = validator;
+    }
+
+    public void setClearInterval(int clearInterval) {
+        this.clearInterval = clearInterval;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Caches {@link #findById} results. The entity has to be {@link EntityMetadata#isCacheable() cacheable},
+     * which {@code GenericController} checks on startup.
+     */
+    public void setEntityCache(EntityCache<T> entityCache) {
+        this.entityCache = entityCache;
+    }
+
+    public EntityCache<T> getEntityCache() {
+        return entityCache;
+    }
+
+    public void setAllowUnindexedFilters(boolean allowUnindexedFilters) {
+        this.allowUnindexedFilters = allowUnindexedFilters;
+        if (filterCompiler != null) {
+            filterCompiler.setAllowUnindexed(allowUnindexedFilters);
+        }
+    }
+
+    /**
+     * Caches page totals. Only unfiltered counts and compiled {@link FilterPlan} filters are cached.
+     */
+    @SuppressWarnings("unchecked")
+    public void setCountCache(CountCache countCache) {
+        this.countCache = countCache;
+        if (countCache != null) {
+            countCache.bind(key -> countNow(key == UNFILTERED ? null : (FilterPlan<T>) key));
+        }
+    }
+
+    public CountCache getCountCache() {
+        return countCache;
+    }
+
+    /**
+     * Serves unfiltered totals from database statistics when the estimator has one.
+     */
+    public void setCountEstimator(CountEstimator countEstimator) {
+        this.countEstimator = countEstimator;
+    }
+
+    /**
+     * Executor for the {@code *Async} variants. Without one they run on the calling thread.
+     */
+    public void setAsyncExecutor(Executor asyncExecutor) {
+        this.asyncExecutor = asyncExecutor;
+    }
+
+    /**
+     * Limits the {@code *Async} variants to the permits of the given limiter. Calls made while the current
+     * thread holds a permit, as a limited request does, run on that permit.
+     */
+    public void setConcurrencyLimiter(ConcurrencyLimiter concurrencyLimiter) {
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
+
+    /**
+     * Queues new entities passed to {@link #enqueue} and inserts them in batches of {@code batchSize},
+     * or {@code window} after the previous batch. Queued entities are lost if the process dies.
+     */
+    public void setWriteBehind(int capacity, int batchSize, Duration window) {
+        String name = type == null ? getClass().getSimpleName() : type.getSimpleName();
+        this.writeBehind = new WriteBehindQueue<>(name, capacity, batchSize, window, batch -> saveAll(batch.iterator()));
+    }
+
+    public WriteBehindQueue<T> getWriteBehind() {
+        return writeBehind;
+    }
+
+    /**
+     * Saves through the write-behind queue when one is set, otherwise right away.
+     * @throws org.spring.generic.exception.TooManyRequestsException when the queue is full
+     */
+    public void enqueue(T entity) {
+        if (writeBehind == null) {
+            save(entity);
+        } else {
+            writeBehind.offer(entity);
+        }
+    }
+
+    /**
+     * Flushes the write-behind queue, waiting up to {@code timeout}, and stops the count cache refresh.
+     */
+    public void shutdown(Duration timeout) {
+        if (writeBehind != null) {
+            writeBehind.close(timeout);
+        }
+        if (countCache != null) {
+            countCache.close();
+        }
+    }
+
+    public EntityMetadata<T> getMetadata() {
+        if (metadata == null && type != null) {
+            metadata = EntityMetadata.of(type, entityManager.getMetamodel());
+        }
+        return metadata;
+    }
+
+    public FilterPlan<T> compileFilter(String filter){
+        if (filter == null || filter.isBlank()) {
+            return null;
+        }
+        if (filterCompiler == null) {
+            filterCompiler = new FilterCompiler<>(getMetadata());
+            filterCompiler.setAllowUnindexed(allowUnindexedFilters);
+        }
+        return filterCompiler.compile(filter);
     }
 
     public Page<T> findAll(Pageable pageable){
-        return repository.findAll(pageable);
+        return findAll(pageable, (Specification<T>) null);
+    }
+
+    public Page<T> findAll(Pageable pageable, Specification<T> filter){
+        if (type == null || pageable.isUnpaged()) {
+            return repository.findAll(Specification.where(filter), pageable);
+        }
+        return page(pageable, filter, () -> select(filter, pageable.getSort(), pageable.getOffset(), pageable.getPageSize()));
+    }
+
+    /**
+     * Reads one row past the page to tell whether a next page exists, without a count query.
+     */
+    public Slice<T> findSlice(Pageable pageable, Specification<T> filter){
+        if (type == null) {
+            return repository.findAll(Specification.where(filter), pageable);
+        }
+        List<T> content = readOnlyTransaction.execute(status ->
+                select(filter, pageable.getSort(), pageable.getOffset(), pageable.getPageSize() + 1));
+        return slice(content, pageable);
+    }
+
+    public Window<T> findAll(KeysetScrollPosition position, int size, Sort sort){
+        return findAll(position, size, sort, null);
+    }
+
+    public Window<T> findAll(KeysetScrollPosition position, int size, Sort sort, Specification<T> filter){
+        return repository.findBy(Specification.where(filter), query -> query.sortBy(sort).limit(size).scroll(position));
     }
 
     public List<T> findAll(){
         return repository.findAll();
     }
 
+    public List<T> findAll(Specification<T> filter){
+        return filter == null ? repository.findAll() : repository.findAll(filter);
+    }
+
+    public Page<Map<String, Object>> findAll(Pageable pageable, String[] fields){
+        return findAll(pageable, fields, null);
+    }
+
+    public Page<Map<String, Object>> findAll(Pageable pageable, String[] fields, Specification<T> filter){
+        List<String> attributes = getMetadata().resolveFields(fields);
+        return page(pageable, filter, () -> project(attributes, filter, pageable.getSort(), pageable.getOffset(), pageable.getPageSize()));
+    }
+
+    public Slice<Map<String, Object>> findSlice(Pageable pageable, String[] fields, Specification<T> filter){
+        List<String> attributes = getMetadata().resolveFields(fields);
+        List<Map<String, Object>> content = readOnlyTransaction.execute(status ->
+                project(attributes, filter, pageable.getSort(), pageable.getOffset(), pageable.getPageSize() + 1));
+        return slice(content, pageable);
+    }
+
+    public List<Map<String, Object>> findAll(String[] fields){
+        return findAll(fields, null);
+    }
+
+    public List<Map<String, Object>> findAll(String[] fields, Specification<T> filter){
+        List<String> attributes = getMetadata().resolveFields(fields);
+        return readOnlyTransaction.execute(status -> project(attributes, filter, Sort.unsorted(), 0, -1));
+    }
+
+    public Map<String, Object> findById(Long id, String[] fields){
+        List<String> attributes = getMetadata().resolveFields(fields);
+        List<Map<String, Object>> rows = readOnlyTransaction.execute(status -> {
+            CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+            CriteriaQuery<Tuple> query = builder.createTupleQuery();
+            Root<T> root = query.from(type);
+            query.multiselect(selections(root, attributes)).where(builder.equal(root.get(getMetadata().getIdAttribute()), id));
+            return toMaps(entityManager.createQuery(query).getResultList(), attributes);
+        });
+        if (rows == null || rows.isEmpty()) {
+            throw new InvalidIdException("Invalid Id!");
+        }
+        return rows.get(0);
+    }
+
+    public long streamAll(Consumer<? super T> action){
+        return streamAll(null, action);
+    }
+
+    /**
+     * Pushes every matching entity to the given action inside a single read-only transaction,
+     * clearing the persistence context every {@code clearInterval} rows so memory stays bounded.
+     */
+    public long streamAll(Specification<T> filter, Consumer<? super T> action){
+        Long count = readOnlyTransaction.execute(status -> {
+            long rows = 0;
+            try (Stream<T> stream = stream(filter)) {
+                Iterator<T> iterator = stream.iterator();
+                while (iterator.hasNext()) {
+                    action.accept(iterator.next());
+                    if (++rows % clearInterval == 0) {
+                        entityManager.clear();
+                    }
+                }
+            }
+            return rows;
+        });
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * With an entity cache, the cache holds an unmanaged copy of the entity and every call returns a new copy of
+     * that, so callers neither share instances nor touch the session the entity was loaded in.
+     */
     public  T findById(Long id) {
-        return repository.findById(id).orElseThrow(() -> new InvalidIdException("Invalid Id!"));
+        if (entityCache != null && getMetadata() != null) {
+            return metadata.copy(entityCache.get(id, key -> metadata.copy(load(key))));
+        }
+        return load(id);
     }
 
     public T save(T entity) {
-        return repository.save(entity);
+        T saved = repository.save(entity);
+        evict(saved);
+        recordWrites(1);
+        return saved;
     }
 
     public void delete(Long id) {
-        T entity = findById(id);
-        repository.delete(entity);
+        if (requiresEntityDelete()) {
+            T entity = load(id);
+            repository.delete(entity);
+        } else if (repository.deleteDirectlyById(id) == 0) {
+            throw new InvalidIdException("Invalid Id!");
+        }
+        evict(id);
+        recordWrites(1);
+    }
+
+    public CompletableFuture<Page<T>> findAllAsync(Pageable pageable, Specification<T> filter){
+        return async(() -> findAll(pageable, filter));
+    }
+
+    public CompletableFuture<List<T>> findAllAsync(Specification<T> filter){
+        return async(() -> findAll(filter));
+    }
+
+    public CompletableFuture<T> findByIdAsync(Long id){
+        return async(() -> findById(id));
+    }
+
+    public CompletableFuture<T> saveAsync(T entity){
+        return async(() -> save(entity));
+    }
+
+    public CompletableFuture<Void> deleteAsync(Long id){
+        return async(() -> {
+            delete(id);
+            return null;
+        });
+    }
+
+    public int deleteAllByIdIn(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int deleted;
+        if (requiresEntityDelete()) {
+            Integer removed = writeTransaction.execute(status -> {
+                List<T> found = repository.findAllById(ids);
+                repository.deleteAll(found);
+                return found.size();
+            });
+            deleted = removed == null ? 0 : removed;
+        } else {
+            deleted = repository.deleteAllByIdIn(ids);
+        }
+        ids.forEach(this::evict);
+        recordWrites(deleted);
+        return deleted;
+    }
+
+    /**
+     * Saves the entities in chunks of {@code batchSize}, one transaction per chunk, flushing and
+     * clearing the persistence context after each chunk. Invalid entities are reported and skipped;
+     * a failing chunk is rolled back and reported as failed without stopping the remaining chunks.
+     */
+    public List<BatchResult> saveAll(Iterator<? extends T> entities){
+        List<BatchResult> results = new ArrayList<>();
+        List<T> chunk = new ArrayList<>(batchSize);
+        List<Integer> indexes = new ArrayList<>(batchSize);
+        int index = 0;
+        while (entities.hasNext()) {
+            T entity = entities.next();
+            List<String> violations = validate(entity);
+            if (violations.isEmpty()) {
+                chunk.add(entity);
+                indexes.add(index);
+            } else {
+                results.add(new BatchResult(index, null, BatchResult.Status.INVALID, violations));
+            }
+            index++;
+            if (chunk.size() == batchSize) {
+                saveChunk(chunk, indexes, results);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            saveChunk(chunk, indexes, results);
+        }
+        results.sort(Comparator.comparingInt(BatchResult::getIndex));
+        return results;
+    }
+
+    public List<BatchResult> deleteAll(Collection<Long> ids){
+        List<BatchResult> results = new ArrayList<>(ids.size());
+        List<Long> chunk = new ArrayList<>(batchSize);
+        for (Long id : ids) {
+            chunk.add(id);
+            if (chunk.size() == batchSize) {
+                deleteChunk(chunk, results);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            deleteChunk(chunk, results);
+        }
+        return results;
+    }
+
+    private void saveChunk(List<T> chunk, List<Integer> indexes, List<BatchResult> results) {
+        try {
+            List<Object> ids = writeTransaction.execute(status -> {
+                List<T> saved = repository.saveAll(chunk);
+                entityManager.flush();
+                PersistenceUnitUtil util = entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
+                List<Object> savedIds = new ArrayList<>(saved.size());
+                for (T entity : saved) {
+                    savedIds.add(util.getIdentifier(entity));
+                }
+                entityManager.clear();
+                return savedIds;
+            });
+            for (int i = 0; i < indexes.size(); i++) {
+                Long id = (Long) ids.get(i);
+                evict(id);
+                results.add(new BatchResult(indexes.get(i), id, BatchResult.Status.SAVED));
+            }
+            recordWrites(ids.size());
+        } catch (RuntimeException e) {
+            List<String> details = failureDetails(e);
+            for (Integer chunkIndex : indexes) {
+                results.add(new BatchResult(chunkIndex, null, BatchResult.Status.FAILED, details));
+            }
+        }
+        chunk.clear();
+        indexes.clear();
+    }
+
+    private void deleteChunk(List<Long> chunk, List<BatchResult> results) {
+        int offset = results.size();
+        try {
+            Set<Object> deleted = writeTransaction.execute(status -> {
+                if (!requiresEntityDelete()) {
+                    List<Long> foundIds = repository.findIdsByIdIn(chunk);
+                    repository.deleteAllByIdIn(foundIds);
+                    return new HashSet<>(foundIds);
+                }
+                List<T> found = repository.findAllById(chunk);
+                PersistenceUnitUtil util = entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
+                Set<Object> foundIds = new HashSet<>(found.size());
+                for (T entity : found) {
+                    foundIds.add(util.getIdentifier(entity));
+                }
+                repository.deleteAll(found);
+                entityManager.flush();
+                entityManager.clear();
+                return foundIds;
+            });
+            for (int i = 0; i < chunk.size(); i++) {
+                Long id = chunk.get(i);
+                if (deleted.contains(id)) {
+                    evict(id);
+                    results.add(new BatchResult(offset + i, id, BatchResult.Status.DELETED));
+                } else {
+                    results.add(new BatchResult(offset + i, id, BatchResult.Status.NOT_FOUND, List.of("Invalid Id!")));
+                }
+            }
+            recordWrites(deleted.size());
+        } catch (RuntimeException e) {
+            List<String> details = failureDetails(e);
+            for (int i = 0; i < chunk.size(); i++) {
+                results.add(new BatchResult(offset + i, chunk.get(i), BatchResult.Status.FAILED, details));
+            }
+        }
+        chunk.clear();
+    }
+
+    private static List<String> failureDetails(RuntimeException e) {
+        Throwable cause = NestedExceptionUtils.getMostSpecificCause(e);
+        return List.of(Objects.requireNonNullElse(cause.getMessage(), cause.getClass().getSimpleName()));
+    }
+
+    private <R> CompletableFuture<R> async(Supplier<R> call) {
+        ConcurrencyLimiter limiter = concurrencyLimiter;
+        boolean limited = limiter != null && !limiter.isHeldByCurrentThread();
+        return CompletableFuture.supplyAsync(limited ? () -> limiter.call(call) : call, asyncExecutor);
+    }
+
+    /**
+     * The first page is read before counting, so a short or empty first page needs no count. Later pages
+     * are counted first, and a page past an exact total returns without running the content query.
+     */
+    private <R> Page<R> page(Pageable pageable, Specification<T> filter, Supplier<List<R>> content) {
+        return readOnlyTransaction.execute(status -> {
+            if (pageable.getOffset() == 0) {
+                List<R> rows = content.get();
+                if (rows.size() < pageable.getPageSize()) {
+                    return new CountedPage<>(rows, pageable, rows.size(), false);
+                }
+                CountCache.Count count = count(filter);
+                return new CountedPage<>(rows, pageable, count.total(), count.estimated() || isCached(filter));
+            }
+            CountCache.Count count = count(filter);
+            boolean exact = !count.estimated() && !isCached(filter);
+            if (exact && pageable.getOffset() >= count.total()) {
+                return new CountedPage<>(List.of(), pageable, count.total(), false);
+            }
+            return new CountedPage<>(content.get(), pageable, count.total(), !exact);
+        });
+    }
+
+    private boolean isCached(Specification<T> filter) {
+        return countCache != null && (filter == null || filter instanceof FilterPlan);
+    }
+
+    private CountCache.Count count(Specification<T> filter) {
+        if (isCached(filter)) {
+            return countCache.get(filter == null ? UNFILTERED : filter);
+        }
+        return countNow(filter);
+    }
+
+    private CountCache.Count countNow(Specification<T> filter) {
+        if (filter == null && countEstimator != null && type != null) {
+            OptionalLong estimate = countEstimator.estimate(type);
+            if (estimate.isPresent()) {
+                return new CountCache.Count(estimate.getAsLong(), true);
+            }
+        }
+        return new CountCache.Count(repository.count(Specification.where(filter)), false);
+    }
+
+    private void recordWrites(int count) {
+        if (countCache != null) {
+            countCache.recordWrites(count);
+        }
+    }
+
+    private static <R> Slice<R> slice(List<R> content, Pageable pageable) {
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    /**
+     * Filtered streams carry the same fetch size and read-only hints as {@link GenericRepository#streamAll()}.
+     */
+    private Stream<T> stream(Specification<T> filter) {
+        if (filter == null) {
+            return repository.streamAll();
+        }
+        if (type == null) {
+            return repository.findBy(filter, FluentQuery.FetchableFluentQuery::stream);
+        }
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = builder.createQuery(type);
+        Root<T> root = query.from(type);
+        query.select(root).where(filter.toPredicate(root, query, builder));
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, Integer.parseInt(GenericRepository.STREAM_FETCH_SIZE))
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private List<T> select(Specification<T> filter, Sort sort, long offset, int limit) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = builder.createQuery(type);
+        Root<T> root = query.from(type);
+        query.select(root).orderBy(QueryUtils.toOrders(sort, root, builder));
+        if (filter != null) {
+            query.where(filter.toPredicate(root, query, builder));
+        }
+        return entityManager.createQuery(query).setFirstResult((int) offset).setMaxResults(limit).getResultList();
+    }
+
+    private List<Map<String, Object>> project(List<String> attributes, Specification<T> filter, Sort sort, long offset, int limit) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<T> root = query.from(type);
+        query.multiselect(selections(root, attributes)).orderBy(QueryUtils.toOrders(sort, root, builder));
+        if (filter != null) {
+            query.where(filter.toPredicate(root, query, builder));
+        }
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query).setFirstResult((int) offset);
+        if (limit > 0) {
+            typedQuery.setMaxResults(limit);
+        }
+        return toMaps(typedQuery.getResultList(), attributes);
+    }
+
+    private static List<Selection<?>> selections(Root<?> root, List<String> attributes) {
+        List<Selection<?>> selections = new ArrayList<>(attributes.size());
+        for (String attribute : attributes) {
+            selections.add(root.get(attribute).alias(attribute));
+        }
+        return selections;
+    }
+
+    private static List<Map<String, Object>> toMaps(List<Tuple> tuples, List<String> attributes) {
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>(attributes.size() * 2);
+            for (int i = 0; i < attributes.size(); i++) {
+                row.put(attributes.get(i), tuple.get(i));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private boolean requiresEntityDelete() {
+        EntityMetadata<T> entityMetadata = getMetadata();
+        return entityMetadata == null || entityMetadata.requiresEntityDelete();
+    }
+
+    private List<String> validate(T entity) {
+        if (validator == null) {
+            return List.of();
+        }
+        Set<ConstraintViolation<T>> violations = validator.validate(entity);
+        List<String> errors = new ArrayList<>(violations.size());
+        for (ConstraintViolation<T> violation : violations) {
+            errors.add(violation.getPropertyPath()+" , "+violation.getMessage());
+        }
+        return errors;
+    }
+
+    private T load(Long id) {
+        return repository.findById(id).orElseThrow(() -> new InvalidIdException("Invalid Id!"));
+    }
+
+    private void evict(T entity) {
+        if (entityCache != null) {
+            evict((Long) entityManager.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(entity));
+        }
+    }
+
+    private void evict(Long id) {
+        if (entityCache != null && id != null) {
+            entityCache.evict(id);
+        }
     }
 }
@@ -0,0 +1,154 @@
+package org.spring.generic.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.spring.generic.exception.TooManyRequestsException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Bounded write-behind buffer. A single flusher thread hands entries to {@code flusher} in batches of up to
+ * {@code batchSize}, as soon as a batch is full or {@code window} after the last flush. Entries that fail
+ * to save are logged and dropped, so it is only meant for loss-tolerant data.
+ */
+public class WriteBehindQueue<T> {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindQueue.class);
+
+    private final Queue<T> queue = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger depth = new AtomicInteger();
+
+    private final int capacity;
+
+    private final int batchSize;
+
+    private final long windowNanos;
+
+    private final Function<List<T>, List<BatchResult>> flusher;
+
+    private final Thread thread;
+
+    private volatile boolean running = true;
+
+    private final AtomicLong flushCount = new AtomicLong();
+
+    private final AtomicLong flushNanos = new AtomicLong();
+
+    private final AtomicLong flushedRows = new AtomicLong();
+
+    private final AtomicLong failedRows = new AtomicLong();
+
+    public WriteBehindQueue(String name, int capacity, int batchSize, Duration window, Function<List<T>, List<BatchResult>> flusher) {
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.windowNanos = window.toNanos();
+        this.flusher = flusher;
+        this.thread = new Thread(this::run, "write-behind-" + name);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * @throws TooManyRequestsException when the queue is full or shutting down
+     */
+    public void offer(T entity) {
+        if (!running) {
+            throw new TooManyRequestsException("Write queue is closed, retry later!");
+        }
+        int size = depth.incrementAndGet();
+        if (size > capacity) {
+            depth.decrementAndGet();
+            throw new TooManyRequestsException("Write queue is full, retry later!");
+        }
+        queue.add(entity);
+        if (size == batchSize) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Stops accepting entries and waits up to {@code timeout} for the queue to drain.
+     */
+    public void close(Duration timeout) {
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(timeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (depth.get() > 0) {
+            log.warn("Write-behind queue closed with {} unsaved entries", depth.get());
+        }
+    }
+
+    public int getDepth() {
+        return depth.get();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getFlushCount() {
+        return flushCount.get();
+    }
+
+    public double getFlushTime(TimeUnit unit) {
+        return (double) flushNanos.get() / unit.toNanos(1);
+    }
+
+    public long getFlushedRows() {
+        return flushedRows.get();
+    }
+
+    public long getFailedRows() {
+        return failedRows.get();
+    }
+
+    private void run() {
+        List<T> batch = new ArrayList<>(batchSize);
+        while (running || depth.get() > 0) {
+            if (running && depth.get() < batchSize) {
+                LockSupport.parkNanos(this, windowNanos);
+            }
+            T entity;
+            while (batch.size() < batchSize && (entity = queue.poll()) != null) {
+                batch.add(entity);
+            }
+            if (!batch.isEmpty()) {
+                depth.addAndGet(-batch.size());
+                flush(batch);
+            }
+        }
+    }
+
+    private void flush(List<T> batch) {
+        long start = System.nanoTime();
+        try {
+            long failed = flusher.apply(batch).stream().filter(result -> !result.isSuccess()).count();
+            flushedRows.addAndGet(batch.size() - failed);
+            if (failed > 0) {
+                failedRows.addAndGet(failed);
+                log.warn("Write-behind flush dropped {} of {} entries", failed, batch.size());
+            }
+        } catch (RuntimeException e) {
+            failedRows.addAndGet(batch.size());
+            log.warn("Write-behind flush of {} entries failed", batch.size(), e);
+        } finally {
+            flushNanos.addAndGet(System.nanoTime() - start);
+            flushCount.incrementAndGet();
+            batch.clear();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package org.spring.generic.startup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.env.Profiles;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+import java.util.Comparator;
+
+/**
+ * Logs the slowest startup steps once the application is ready. Needs a {@link BufferingApplicationStartup}
+ * set on the {@code SpringApplication}.
+ */
+public class StartupReport implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupReport.class);
+
+    public static final String PROFILE = "fast-start";
+
+    private static final int BUFFERED_STEPS = 4096;
+
+    private final int steps;
+
+    public StartupReport(int steps) {
+        this.steps = steps;
+    }
+
+    /**
+     * A {@link BufferingApplicationStartup} when the {@value #PROFILE} profile is active or
+     * {@code generic.startup.report=true}, read from the command line, system properties and environment
+     * variables. Otherwise the default startup, which records nothing.
+     */
+    public static ApplicationStartup applicationStartup(String... args) {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new SimpleCommandLinePropertySource(args));
+        if (environment.acceptsProfiles(Profiles.of(PROFILE))
+                || environment.getProperty("generic.startup.report", Boolean.class, false)) {
+            return new BufferingApplicationStartup(BUFFERED_STEPS);
+        }
+        return ApplicationStartup.DEFAULT;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (!(event.getApplicationContext().getApplicationStartup() instanceof BufferingApplicationStartup startup)) {
+            log.info("Ready in {} ms, set a BufferingApplicationStartup for the startup timeline", event.getTimeTaken().toMillis());
+            return;
+        }
+        log.info("Ready in {} ms, slowest startup steps:", event.getTimeTaken().toMillis());
+        startup.getBufferedTimeline().getEvents().stream()
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(steps)
+                .forEach(step -> log.info("{} ms {}{}", step.getDuration().toMillis(), step.getStartupStep().getName(),
+                        tags(step.getStartupStep().getTags())));
+    }
+
+    private static String tags(StartupStep.Tags tags) {
+        StringBuilder builder = new StringBuilder();
+        for (StartupStep.Tag tag : tags) {
+            builder.append(' ').append(tag.getKey()).append('=').append(tag.getValue());
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,19 @@
+package org.spring.generic.startup;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Enabled with {@code generic.startup.report=true}.
+ */
+@AutoConfiguration
+@ConditionalOnProperty(prefix = "generic.startup", name = "report", havingValue = "true")
+public class StartupReportConfiguration {
+
+    @Bean
+    public StartupReport startupReport(@Value("${generic.startup.report-steps:20}") int steps) {
+        return new StartupReport(steps);
+    }
+}
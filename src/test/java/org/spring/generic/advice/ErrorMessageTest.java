@@ -0,0 +1,24 @@
+package org.spring.generic.advice;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ErrorMessageTest {
+
+    @Test
+    void followsTheObjectMapperConfiguration() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .setPropertyNamingStrategy(PropertyNamingStrategies.UPPER_CAMEL_CASE)
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        ErrorMessage errorMessage = new ErrorMessage(new Date(0), null, 400, "Bad Request", "Invalid Id!");
+
+        assertThat(objectMapper.writeValueAsString(errorMessage))
+                .isEqualTo("{\"Timestamp\":0,\"Status\":400,\"Error\":\"Bad Request\",\"Details\":[\"Invalid Id!\"]}");
+    }
+}
@@ -0,0 +1,58 @@
+package org.spring.generic.advice;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.spring.generic.exception.InvalidIdException;
+import org.spring.generic.exception.ServiceUnavailableException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.support.MissingServletRequestPartException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GenericAdviceControllerTest {
+
+    private SimpleMeterRegistry registry;
+
+    private GenericAdviceController advice;
+
+    private ServletWebRequest request;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        advice = new GenericAdviceController() {};
+        advice.setMeterRegistry(registry);
+        request = new ServletWebRequest(new MockHttpServletRequest("GET", "/items/1"));
+    }
+
+    @Test
+    void countsErrorsByExceptionAndStatus() {
+        assertThat(advice.handleInvalidIdException(new InvalidIdException("Invalid Id!"), request).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+        advice.handleInvalidIdException(new InvalidIdException("Invalid Id!"), request);
+        advice.handleServiceUnavailableException(new ServiceUnavailableException("Server busy, retry later!"), request);
+
+        assertThat(registry.get("generic.errors").tags("exception", "InvalidIdException", "status", "400").counter().count())
+                .isEqualTo(2);
+        assertThat(registry.get("generic.errors").tags("exception", "ServiceUnavailableException", "status", "503").counter().count())
+                .isEqualTo(1);
+        assertThat(registry.get("generic.errors").counters()).hasSize(2);
+    }
+
+    @Test
+    void countsMissingPartsAndUnexpectedErrors() {
+        advice.handleMissingServletRequestPart(new MissingServletRequestPartException("file"),
+                new HttpHeaders(), HttpStatus.BAD_REQUEST, request);
+        assertThat(advice.handleUnexpectedException(new IllegalStateException("boom"), request).getStatusCode())
+                .isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+
+        assertThat(registry.get("generic.errors").tags("exception", "MissingServletRequestPartException", "status", "400").counter().count())
+                .isEqualTo(1);
+        assertThat(registry.get("generic.errors").tags("exception", "IllegalStateException", "status", "500").counter().count())
+                .isEqualTo(1);
+    }
+}
@@ -0,0 +1,42 @@
+package org.spring.generic.concurrency;
+
+import org.junit.jupiter.api.Test;
+import org.spring.generic.exception.ServiceUnavailableException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConcurrencyLimiterTest {
+
+    @Test
+    void callRunsOnPermitHeldByCurrentThread() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, Duration.ofMillis(50));
+        limiter.acquire();
+        try {
+            assertThat(limiter.isHeldByCurrentThread()).isTrue();
+            assertThat(limiter.call(() -> "nested")).isEqualTo("nested");
+            assertThat(limiter.getAvailablePermits()).isZero();
+        } finally {
+            limiter.release();
+        }
+        assertThat(limiter.isHeldByCurrentThread()).isFalse();
+        assertThat(limiter.getAvailablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void otherThreadsWaitForPermit() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, Duration.ofMillis(50));
+        limiter.acquire();
+        try {
+            assertThatThrownBy(() -> CompletableFuture.supplyAsync(() -> limiter.call(() -> "other")).join())
+                    .isInstanceOf(CompletionException.class)
+                    .hasCauseInstanceOf(ServiceUnavailableException.class);
+        } finally {
+            limiter.release();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package org.spring.generic.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.spring.generic.sample.Item;
+import org.spring.generic.sample.ItemRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class GenericControllerBatchTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ItemRepository repository;
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void savesValidItemsAndReportsInvalidOnesWithMultiStatus() throws Exception {
+        mockMvc.perform(post("/items/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"name\":\"a\",\"quantity\":1},{\"name\":\"\",\"quantity\":2},{\"name\":\"c\",\"quantity\":3}]"))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$[?(@.index == 0)].status").value("SAVED"))
+                .andExpect(jsonPath("$[?(@.index == 1)].status").value("INVALID"))
+                .andExpect(jsonPath("$[?(@.index == 2)].status").value("SAVED"));
+
+        assertThat(repository.findAll()).extracting(Item::getName).containsExactlyInAnyOrder("a", "c");
+    }
+
+    @Test
+    void savesNdjsonBodiesWithOk() throws Exception {
+        mockMvc.perform(post("/items/batch").contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"name\":\"a\",\"quantity\":1}\n{\"name\":\"b\",\"quantity\":2}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[*].status").value(everyItem(is("SAVED"))));
+
+        assertThat(repository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void reportsFailedChunksWithDetails() throws Exception {
+        Item item = repository.save(new Item("a", 1));
+        item.setName("changed");
+        repository.save(item);
+
+        mockMvc.perform(put("/items/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"id\":" + item.getId() + ",\"name\":\"stale\",\"quantity\":1,\"version\":0}]"))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$[0].status").value("FAILED"))
+                .andExpect(jsonPath("$[0].details[0]").isNotEmpty());
+
+        assertThat(repository.findById(item.getId())).get().extracting(Item::getName).isEqualTo("changed");
+    }
+
+    @Test
+    void deletesKnownIdsAndReportsUnknownOnes() throws Exception {
+        Long id = repository.save(new Item("a", 1)).getId();
+
+        mockMvc.perform(delete("/items/batch").contentType(MediaType.APPLICATION_JSON).content("[" + id + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("DELETED"));
+        mockMvc.perform(delete("/items/batch").contentType(MediaType.APPLICATION_JSON).content("[" + id + "]"))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$[0].id").value(id))
+                .andExpect(jsonPath("$[0].status").value("NOT_FOUND"));
+    }
+}
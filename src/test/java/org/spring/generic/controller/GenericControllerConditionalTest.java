@@ -0,0 +1,114 @@
+package org.spring.generic.controller;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.spring.generic.metrics.GenericMetrics;
+import org.spring.generic.sample.Item;
+import org.spring.generic.sample.ItemRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class GenericControllerConditionalTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ItemRepository repository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        item = repository.save(new Item("a", 1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void answersNotModifiedWithoutSerializing() throws Exception {
+        String eTag = mockMvc.perform(get("/items/{id}", item.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        long rows = rowCount(GenericMetrics.FIND_BY_ID);
+
+        mockMvc.perform(get("/items/{id}", item.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        assertThat(rowCount(GenericMetrics.FIND_BY_ID)).isEqualTo(rows);
+    }
+
+    @Test
+    void answersNotModifiedForUnchangedPagesOnly() throws Exception {
+        String eTag = mockMvc.perform(get("/items"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/items").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        repository.save(new Item("b", 2));
+        mockMvc.perform(get("/items").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void updatesTheVersionNamedByIfMatch() throws Exception {
+        mockMvc.perform(put("/items").contentType(MediaType.APPLICATION_JSON).header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .content(body("b", 0)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+    }
+
+    @Test
+    void answersPreconditionFailedForStaleOrInvalidIfMatch() throws Exception {
+        mockMvc.perform(put("/items").contentType(MediaType.APPLICATION_JSON).header(HttpHeaders.IF_MATCH, "\"7\"")
+                        .content(body("b", 0)))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(put("/items").contentType(MediaType.APPLICATION_JSON).header(HttpHeaders.IF_MATCH, "\"abc\"")
+                        .content(body("b", 0)))
+                .andExpect(status().isPreconditionFailed());
+
+        assertThat(repository.findById(item.getId())).get().extracting(Item::getName).isEqualTo("a");
+    }
+
+    @Test
+    void answersConflictForStaleBodyVersionWithoutIfMatch() throws Exception {
+        item.setName("b");
+        repository.save(item);
+
+        mockMvc.perform(put("/items").contentType(MediaType.APPLICATION_JSON).content(body("c", 0)))
+                .andExpect(status().isConflict());
+    }
+
+    private String body(String name, long version) {
+        return "{\"id\":" + item.getId() + ",\"name\":\"" + name + "\",\"quantity\":1,\"version\":" + version + "}";
+    }
+
+    private long rowCount(String operation) {
+        return meterRegistry.get("generic.rows").tag("entity", "Item").tag("operation", operation).summary().count();
+    }
+}
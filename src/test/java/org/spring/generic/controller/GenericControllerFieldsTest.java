@@ -0,0 +1,76 @@
+package org.spring.generic.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.spring.generic.sample.Item;
+import org.spring.generic.sample.ItemRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class GenericControllerFieldsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ItemRepository repository;
+
+    private Long id;
+
+    @BeforeEach
+    void setUp() {
+        id = repository.save(new Item("a", 1)).getId();
+        repository.save(new Item("b", 2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void selectsOnlyTheRequestedFields() throws Exception {
+        mockMvc.perform(get("/items/{id}", id).param("fields", "name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("a"))
+                .andExpect(jsonPath("$.quantity").doesNotExist())
+                .andExpect(jsonPath("$.version").doesNotExist());
+        mockMvc.perform(get("/items").param("fields", "name,quantity").param("sort", "name,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.content[0].name").value("b"))
+                .andExpect(jsonPath("$.content[0].quantity").value(2))
+                .andExpect(jsonPath("$.content[0].id").doesNotExist());
+        mockMvc.perform(get("/items").param("isList", "true").param("fields", "quantity").param("filter", "quantity==1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].quantity").value(1));
+    }
+
+    @Test
+    void rejectsUnknownFields() throws Exception {
+        mockMvc.perform(get("/items").param("fields", "name,bogus"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.details[0]").value("Invalid field : bogus"));
+        mockMvc.perform(get("/items/{id}", id).param("fields", "bogus"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void rejectsEmptyFields() throws Exception {
+        mockMvc.perform(get("/items").param("fields", ","))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.details[0]").value("At least one field is required!"));
+        mockMvc.perform(get("/items").param("isList", "true").param("fields", ""))
+                .andExpect(status().isBadRequest());
+    }
+}
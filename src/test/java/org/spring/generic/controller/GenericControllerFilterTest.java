@@ -0,0 +1,99 @@
+package org.spring.generic.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.spring.generic.sample.Item;
+import org.spring.generic.sample.ItemController;
+import org.spring.generic.sample.ItemRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class GenericControllerFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ItemController controller;
+
+    @Autowired
+    private ItemRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        Item described = new Item("c", 3);
+        described.setDescription("third");
+        repository.saveAll(List.of(new Item("a", 1), new Item("b", 2), described, new Item("d", 4)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        controller.service().setAllowUnindexedFilters(false);
+        repository.deleteAll();
+    }
+
+    @Test
+    void filtersOnIndexedAttributes() throws Exception {
+        assertThat(quantities("quantity>=2;quantity<4")).containsExactly(2, 3);
+        assertThat(quantities("quantity=in=1,4")).containsExactly(1, 4);
+        assertThat(quantities("quantity!=2")).containsExactly(1, 3, 4);
+        mockMvc.perform(get("/items").param("filter", "quantity>3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(header().doesNotExist(GenericController.UNINDEXED_FILTER_HEADER));
+    }
+
+    @Test
+    void reusesCompiledPlans() {
+        assertThat(controller.service().compileFilter("quantity==1"))
+                .isSameAs(controller.service().compileFilter(" quantity==1 "));
+    }
+
+    @Test
+    void rejectsUnindexedAttributesUnlessAllowed() throws Exception {
+        mockMvc.perform(get("/items").param("filter", "name==a"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.details[0]").value("Filter on non-indexed field : name"));
+
+        controller.service().setAllowUnindexedFilters(true);
+        mockMvc.perform(get("/items").param("isList", "true").param("filter", "description!=null;quantity>1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(GenericController.UNINDEXED_FILTER_HEADER, "description"))
+                .andExpect(jsonPath("$[*].name").value("c"));
+    }
+
+    @Test
+    void rejectsMalformedFilters() throws Exception {
+        mockMvc.perform(get("/items").param("filter", "quantity~1"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.details[0]").value("Invalid filter : quantity~1"));
+        mockMvc.perform(get("/items").param("filter", "bogus==1"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.details[0]").value("Invalid filter field : bogus"));
+        mockMvc.perform(get("/items").param("filter", "quantity>many"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.details[0]").value("Invalid filter value for quantity : many"));
+    }
+
+    private List<Integer> quantities(String filter) throws Exception {
+        String body = mockMvc.perform(get("/items").param("isList", "true").param("filter", filter))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        List<Integer> quantities = JsonPath.read(body, "$[*].quantity");
+        return quantities.stream().sorted().toList();
+    }
+}
@@ -0,0 +1,76 @@
+package org.spring.generic.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.spring.generic.sample.Item;
+import org.spring.generic.sample.ItemRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class GenericControllerPagingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ItemRepository repository;
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void answersNoContentForEmptyResults() throws Exception {
+        mockMvc.perform(get("/items"))
+                .andExpect(status().isNoContent())
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/items").param("isList", "true"))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/items").param("slice", "true"))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/items/scroll"))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void answersNoContentForPagesPastTheEnd() throws Exception {
+        repository.saveAll(List.of(new Item("a", 1), new Item("b", 2), new Item("c", 3)));
+
+        mockMvc.perform(get("/items").param("page", "2").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(3))
+                .andExpect(jsonPath("$.content.length()").value(1));
+        mockMvc.perform(get("/items").param("page", "3").param("size", "2"))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/items").param("page", "3").param("size", "2").param("slice", "true"))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void readsSlicesWithoutTotals() throws Exception {
+        repository.saveAll(List.of(new Item("a", 1), new Item("b", 2), new Item("c", 3)));
+
+        mockMvc.perform(get("/items").param("size", "2").param("slice", "true").param("sort", "name,asc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].name").value(contains("a", "b")))
+                .andExpect(jsonPath("$.last").value(false))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+        mockMvc.perform(get("/items").param("page", "2").param("size", "2").param("slice", "true").param("sort", "name,asc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].name").value(contains("c")))
+                .andExpect(jsonPath("$.last").value(true));
+    }
+}
@@ -0,0 +1,82 @@
+package org.spring.generic.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.spring.generic.sample.Item;
+import org.spring.generic.sample.ItemRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class GenericControllerScrollTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ItemRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository.saveAll(List.of(new Item("c", 3), new Item("a", 1), new Item("e", 5), new Item("b", 2), new Item("d", 4)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void followsCursorsToTheEnd() throws Exception {
+        List<String> names = new ArrayList<>();
+        String after = "";
+        do {
+            String body = mockMvc.perform(get("/items/scroll").param("size", "2").param("sort", "name,desc").param("after", after))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            names.addAll(JsonPath.read(body, "$.content[*].name"));
+            after = JsonPath.read(body, "$.next");
+        } while (after != null);
+
+        assertThat(names).containsExactly("e", "d", "c", "b", "a");
+    }
+
+    @Test
+    void rejectsCursorsIssuedForAnotherSort() throws Exception {
+        String next = JsonPath.read(mockMvc.perform(get("/items/scroll").param("size", "2").param("sort", "name,asc"))
+                .andReturn().getResponse().getContentAsString(), "$.next");
+
+        mockMvc.perform(get("/items/scroll").param("sort", "name,desc").param("after", next))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.details[0]").value("Cursor does not match sort!"));
+        mockMvc.perform(get("/items/scroll").param("sort", "quantity,asc").param("after", next))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/items/scroll").param("sort", "name,asc").param("after", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.details[0]").value("Invalid cursor!"));
+    }
+
+    @Test
+    void defaultsTheSortDirectionAndRejectsInvalidSorts() throws Exception {
+        mockMvc.perform(get("/items/scroll").param("sort", "name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value("a"));
+        mockMvc.perform(get("/items/scroll").param("sort", "name,sideways"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/items/scroll").param("sort", "name,asc,id"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,89 @@
+package org.spring.generic.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.spring.generic.sample.Item;
+import org.spring.generic.sample.ItemController;
+import org.spring.generic.sample.ItemRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class GenericControllerStreamTest {
+
+    private static final int ROWS = 25;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ItemController controller;
+
+    @Autowired
+    private ItemRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository.saveAll(IntStream.range(0, ROWS).mapToObj(i -> new Item("item" + i, i)).toList());
+        controller.service().setClearInterval(10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        controller.service().setClearInterval(1000);
+        repository.deleteAll();
+    }
+
+    @Test
+    void streamsEveryRowAsJsonArrayAcrossClears() throws Exception {
+        String body = mockMvc.perform(get("/items").param("isList", "true").param("stream", "true"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsString();
+
+        List<Integer> quantities = JsonPath.read(body, "$[*].quantity");
+        assertThat(quantities).hasSize(ROWS).containsExactlyInAnyOrderElementsOf(IntStream.range(0, ROWS).boxed().toList());
+    }
+
+    @Test
+    void streamsOneRowPerLineAsNdjson() throws Exception {
+        String body = mockMvc.perform(get("/items").param("isList", "true").param("stream", "true")
+                        .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_NDJSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        List<String> names = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            names.add(JsonPath.read(line, "$.name"));
+        }
+        assertThat(names).hasSize(ROWS).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void streamsOnlyFilteredRows() throws Exception {
+        String body = mockMvc.perform(get("/items").param("isList", "true").param("stream", "true")
+                        .param("filter", "quantity>=20"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        List<Integer> quantities = JsonPath.read(body, "$[*].quantity");
+        assertThat(quantities).containsExactlyInAnyOrder(20, 21, 22, 23, 24);
+    }
+}
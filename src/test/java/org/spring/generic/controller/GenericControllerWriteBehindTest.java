@@ -0,0 +1,70 @@
+package org.spring.generic.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.spring.generic.sample.ItemController;
+import org.spring.generic.sample.ItemRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A write-behind queue cannot be removed from a service once set, so this class gets its own context.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext
+class GenericControllerWriteBehindTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ItemController controller;
+
+    @Autowired
+    private ItemRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        controller.service().setWriteBehind(100, 3, Duration.ofSeconds(2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        controller.service().shutdown(Duration.ofSeconds(5));
+        repository.deleteAll();
+    }
+
+    @Test
+    void acceptsInsertsAndWritesThemInBatches() throws Exception {
+        for (String name : new String[]{"a", "b", "c", "d"}) {
+            mockMvc.perform(post("/items").contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"" + name + "\",\"quantity\":1}"))
+                    .andExpect(status().isAccepted())
+                    .andExpect(content().string(""));
+        }
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> repository.count() == 4);
+        assertThat(controller.service().getWriteBehind().getFlushCount()).isEqualTo(2);
+    }
+
+    @Test
+    void validatesBeforeQueueing() throws Exception {
+        mockMvc.perform(post("/items").contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"\",\"quantity\":1}"))
+                .andExpect(status().isBadRequest());
+
+        assertThat(controller.service().getWriteBehind().getDepth()).isZero();
+    }
+}
@@ -0,0 +1,108 @@
+package org.spring.generic.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Routes between two separate in-memory H2 databases. The same row holds a different name in each, so the
+ * response shows which database answered.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "generic.datasource.replica.url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1",
+        "generic.datasource.replica.username=sa",
+        "generic.datasource.replica.health-check-interval=1h"
+})
+@AutoConfigureMockMvc
+class ReplicaRoutingTest {
+
+    private static final long ID = 1_000_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private HikariDataSource replicaDataSource;
+
+    @Autowired
+    private ReplicaHealthCheck healthCheck;
+
+    private JdbcTemplate primary;
+
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1", "sa", ""));
+        replica.execute("create table if not exists item (id bigint primary key, name varchar(255), "
+                + "quantity integer, description varchar(255), version bigint)");
+        primary.update("insert into item (id, name, quantity, version) values (?, 'on primary', 1, 0)", ID);
+        replica.update("insert into item (id, name, quantity, version) values (?, 'on replica', 1, 0)", ID);
+    }
+
+    @AfterEach
+    void tearDown() {
+        primary.update("delete from item");
+        replica.update("delete from item");
+    }
+
+    @Test
+    void readsFromTheReplica() throws Exception {
+        mockMvc.perform(get("/items/{id}", ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("on replica"));
+    }
+
+    @Test
+    void writesToThePrimary() throws Exception {
+        mockMvc.perform(post("/items").contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"written\",\"quantity\":2}"))
+                .andExpect(status().isOk());
+
+        assertThat(primary.queryForObject("select count(*) from item where name = 'written'", Integer.class)).isEqualTo(1);
+        assertThat(replica.queryForObject("select count(*) from item where name = 'written'", Integer.class)).isZero();
+    }
+
+    @Test
+    void readsYourWritesFromThePrimary() throws Exception {
+        mockMvc.perform(get("/items/{id}", ID).cookie(new Cookie(ReadYourWritesInterceptor.COOKIE_NAME, "1")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("on primary"));
+    }
+
+    @Test
+    @DirtiesContext
+    void fallsBackToThePrimaryWhileTheReplicaIsDown() throws Exception {
+        replicaDataSource.close();
+        healthCheck.check();
+
+        assertThat(healthCheck.isReplicaUp()).isFalse();
+        mockMvc.perform(get("/items/{id}", ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("on primary"));
+    }
+}
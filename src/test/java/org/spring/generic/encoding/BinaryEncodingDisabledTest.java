@@ -0,0 +1,63 @@
+package org.spring.generic.encoding;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.spring.generic.sample.Item;
+import org.spring.generic.sample.ItemRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = BinaryEncodingConfiguration.ENABLED_PROPERTY + "=false")
+@AutoConfigureMockMvc
+class BinaryEncodingDisabledTest {
+
+    private static final String SMILE = "application/x-jackson-smile";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ItemRepository repository;
+
+    private Long id;
+
+    @BeforeEach
+    void setUp() {
+        id = repository.save(new Item("a", 1)).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void rejectsBinaryFormats() throws Exception {
+        mockMvc.perform(get("/items/{id}", id).header(HttpHeaders.ACCEPT, MediaType.APPLICATION_CBOR_VALUE))
+                .andExpect(status().isNotAcceptable());
+        mockMvc.perform(get("/items/{id}", id).header(HttpHeaders.ACCEPT, SMILE))
+                .andExpect(status().isNotAcceptable());
+        mockMvc.perform(get("/items/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("a"));
+    }
+
+    @Test
+    void streamsJsonInsteadOfBinaryFormats() throws Exception {
+        mockMvc.perform(get("/items").param("isList", "true").param("stream", "true")
+                        .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_CBOR_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].name").value("a"));
+    }
+}
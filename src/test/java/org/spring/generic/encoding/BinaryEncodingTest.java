@@ -0,0 +1,64 @@
+package org.spring.generic.encoding;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.spring.generic.sample.Item;
+import org.spring.generic.sample.ItemRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BinaryEncodingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ItemRepository repository;
+
+    private Long id;
+
+    @BeforeEach
+    void setUp() {
+        id = repository.save(new Item("a", 1)).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void encodesResponsesAndStreamsAsCbor() throws Exception {
+        ObjectMapper cbor = new ObjectMapper(new CBORFactory());
+
+        byte[] entity = mockMvc.perform(get("/items/{id}", id).header(HttpHeaders.ACCEPT, MediaType.APPLICATION_CBOR_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertThat(cbor.readTree(entity).get("name").asText()).isEqualTo("a");
+
+        byte[] stream = mockMvc.perform(get("/items").param("isList", "true").param("stream", "true")
+                        .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_CBOR_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        JsonNode rows = cbor.readTree(stream);
+        assertThat(rows.isArray()).isTrue();
+        assertThat(rows.get(0).get("name").asText()).isEqualTo("a");
+    }
+}
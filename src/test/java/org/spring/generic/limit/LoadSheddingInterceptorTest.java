@@ -0,0 +1,76 @@
+package org.spring.generic.limit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+import org.spring.generic.exception.TooManyRequestsException;
+import org.spring.generic.sample.ItemController;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.HandlerMethod;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoadSheddingInterceptorTest {
+
+    private final RequestCost requestCost = new RequestCost(1000, 1000, 100, 50, 10);
+
+    private final ItemController controller = new ItemController(null);
+
+    @Test
+    void keysByRemoteAddressByDefault() throws Exception {
+        LoadSheddingInterceptor interceptor = interceptor(2, null);
+
+        assertThat(interceptor.preHandle(get("10.0.0.1", "a"), new MockHttpServletResponse(), findById())).isTrue();
+        assertThat(interceptor.preHandle(get("10.0.0.1", "b"), new MockHttpServletResponse(), findById())).isTrue();
+        assertThatThrownBy(() -> interceptor.preHandle(get("10.0.0.1", "c"), new MockHttpServletResponse(), findById()))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThat(interceptor.preHandle(get("10.0.0.2", "a"), new MockHttpServletResponse(), findById())).isTrue();
+    }
+
+    @Test
+    void keysByTheConfiguredHeader() throws Exception {
+        LoadSheddingInterceptor interceptor = interceptor(1, "X-Client-Id");
+
+        assertThat(interceptor.preHandle(get("10.0.0.1", "a"), new MockHttpServletResponse(), findById())).isTrue();
+        assertThat(interceptor.preHandle(get("10.0.0.1", "b"), new MockHttpServletResponse(), findById())).isTrue();
+        assertThatThrownBy(() -> interceptor.preHandle(get("10.0.0.1", "a"), new MockHttpServletResponse(), findById()))
+                .isInstanceOf(TooManyRequestsException.class);
+    }
+
+    @Test
+    void chargesBatchesPerItem() throws Exception {
+        LoadSheddingInterceptor interceptor = interceptor(100, null);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/items/batch");
+        HandlerMethod saveAll = new HandlerMethod(controller, "saveAll", List.class, HttpServletRequest.class);
+
+        assertThat(interceptor.preHandle(request, new MockHttpServletResponse(), saveAll)).isTrue();
+        IntConsumer charge = (IntConsumer) request.getAttribute(RequestCost.BATCH_CHARGE);
+        charge.accept(8_000);
+        assertThatThrownBy(() -> charge.accept(2_000)).isInstanceOf(TooManyRequestsException.class);
+        assertThat(requestCost.ofBatch(1)).isEqualTo(1);
+        assertThat(requestCost.ofBatch(10_000)).isEqualTo(100);
+    }
+
+    private LoadSheddingInterceptor interceptor(int capacity, String clientHeader) {
+        RateLimiter rateLimiter = new RateLimiter(capacity, 0.001, 100, Duration.ofMinutes(1));
+        return new LoadSheddingInterceptor(rateLimiter, requestCost, clientHeader,
+                entity -> new AdaptiveConcurrencyLimiter(10, 1, 10, Duration.ofSeconds(1), 0.9));
+    }
+
+    private HandlerMethod findById() throws NoSuchMethodException {
+        return new HandlerMethod(controller, "getOneById", Long.class, String[].class, WebRequest.class);
+    }
+
+    private static MockHttpServletRequest get(String remoteAddress, String clientId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items/1");
+        request.setRemoteAddr(remoteAddress);
+        request.addHeader("X-Client-Id", clientId);
+        return request;
+    }
+}
@@ -0,0 +1,62 @@
+package org.spring.generic.limit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.spring.generic.sample.ItemRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "generic.limit.enabled=true",
+        "generic.limit.max-page-size=5",
+        "generic.limit.max-batch-size=3",
+        "generic.limit.rate.refill-per-second=0"
+})
+@AutoConfigureMockMvc
+class LoadSheddingSizeTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ItemRepository repository;
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void rejectsPagesOverTheMaximum() throws Exception {
+        mockMvc.perform(get("/items").param("size", "6"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.details[0]").value("Page size must be at most 5!"));
+        mockMvc.perform(get("/items/scroll").param("size", "6"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/items").param("size", "5"))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void rejectsBatchesOverTheMaximum() throws Exception {
+        mockMvc.perform(post("/items/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"name\":\"a\"},{\"name\":\"b\"},{\"name\":\"c\"},{\"name\":\"d\"}]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.details[0]").value("Batch size must be at most 3!"));
+        mockMvc.perform(post("/items/batch").contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"name\":\"a\"}\n{\"name\":\"b\"}\n{\"name\":\"c\"}\n{\"name\":\"d\"}\n"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/items/batch").contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"name\":\"a\"}\n{\"name\":\"b\"}\n{\"name\":\"c\"}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3));
+    }
+}
@@ -0,0 +1,62 @@
+package org.spring.generic.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GenericMetricsTest {
+
+    private SimpleMeterRegistry registry;
+
+    private GenericMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new GenericMetrics(registry, "Item");
+    }
+
+    @Test
+    void recordsQueryTimerPerEntityAndOperation() {
+        assertThat(metrics.recordQuery(GenericMetrics.FIND_BY_ID, () -> "found")).isEqualTo("found");
+        metrics.recordQuery(GenericMetrics.FIND_BY_ID, () -> "found");
+        metrics.recordQuery(GenericMetrics.DELETE, () -> { });
+
+        Timer findById = registry.get("generic.query").tags("entity", "Item", "operation", "findById").timer();
+        Timer delete = registry.get("generic.query").tags("entity", "Item", "operation", "delete").timer();
+        assertThat(findById.count()).isEqualTo(2);
+        assertThat(delete.count()).isEqualTo(1);
+        assertThat(registry.get("generic.query").timers()).hasSize(2);
+    }
+
+    @Test
+    void recordsRowsPerEntityAndOperation() {
+        metrics.recordRows(GenericMetrics.FIND_ALL_LIST, 5);
+        metrics.recordRows(GenericMetrics.FIND_ALL_LIST, 7);
+        metrics.recordRows(GenericMetrics.SAVE_BATCH, 3);
+
+        DistributionSummary list = registry.get("generic.rows").tags("entity", "Item", "operation", "findAll-list").summary();
+        DistributionSummary batch = registry.get("generic.rows").tags("entity", "Item", "operation", "save-batch").summary();
+        assertThat(list.count()).isEqualTo(2);
+        assertThat(list.totalAmount()).isEqualTo(12);
+        assertThat(batch.count()).isEqualTo(1);
+        assertThat(batch.totalAmount()).isEqualTo(3);
+    }
+
+    @Test
+    void queryTimerRecordsFailedQueries() {
+        try {
+            metrics.recordQuery(GenericMetrics.SAVE, () -> {
+                throw new IllegalStateException("failed");
+            });
+        } catch (IllegalStateException expected) {
+            // recorded below
+        }
+
+        assertThat(registry.get("generic.query").tags("entity", "Item", "operation", "save").timer().count()).isEqualTo(1);
+    }
+}
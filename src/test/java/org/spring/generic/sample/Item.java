@@ -0,0 +1,38 @@
+package org.spring.generic.sample;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Data
+@NoArgsConstructor
+@Table(indexes = @Index(columnList = "quantity"))
+public class Item {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    private Long id;
+
+    @NotBlank
+    private String name;
+
+    private Integer quantity;
+
+    private String description;
+
+    @Version
+    private Long version;
+
+    public Item(String name, Integer quantity) {
+        this.name = name;
+        this.quantity = quantity;
+    }
+}
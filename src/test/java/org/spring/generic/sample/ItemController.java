@@ -0,0 +1,19 @@
+package org.spring.generic.sample;
+
+import org.spring.generic.controller.GenericController;
+import org.spring.generic.service.GenericService;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/items")
+public class ItemController extends GenericController<Item> {
+
+    public ItemController(ItemRepository repository) {
+        super(repository);
+    }
+
+    public GenericService<Item> service() {
+        return getGenericService();
+    }
+}
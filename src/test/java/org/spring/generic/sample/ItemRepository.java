@@ -0,0 +1,6 @@
+package org.spring.generic.sample;
+
+import org.spring.generic.repo.GenericRepository;
+
+public interface ItemRepository extends GenericRepository<Item> {
+}
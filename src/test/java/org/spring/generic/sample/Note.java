@@ -0,0 +1,37 @@
+package org.spring.generic.sample;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PreRemove;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An entity with a remove callback, which the generic service may only delete through the entity manager.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+public class Note {
+
+    public static final AtomicInteger REMOVED = new AtomicInteger();
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    private Long id;
+
+    private String text;
+
+    public Note(String text) {
+        this.text = text;
+    }
+
+    @PreRemove
+    void onRemove() {
+        REMOVED.incrementAndGet();
+    }
+}
@@ -0,0 +1,19 @@
+package org.spring.generic.sample;
+
+import org.spring.generic.controller.GenericController;
+import org.spring.generic.service.GenericService;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/notes")
+public class NoteController extends GenericController<Note> {
+
+    public NoteController(NoteRepository repository) {
+        super(repository);
+    }
+
+    public GenericService<Note> service() {
+        return getGenericService();
+    }
+}
@@ -0,0 +1,97 @@
+package org.spring.generic.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.spring.generic.cache.CountCache;
+import org.spring.generic.page.CountedPage;
+import org.spring.generic.sample.Item;
+import org.spring.generic.sample.ItemController;
+import org.spring.generic.sample.ItemRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest
+class GenericServiceCountCacheTest {
+
+    @Autowired
+    private ItemController controller;
+
+    @Autowired
+    private ItemRepository repository;
+
+    private GenericService<Item> service;
+
+    private CountCache countCache;
+
+    @BeforeEach
+    void setUp() {
+        service = controller.service();
+        repository.saveAll(List.of(new Item("a", 1), new Item("b", 2), new Item("c", 3)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.setCountCache(null);
+        service.setCountEstimator(null);
+        if (countCache != null) {
+            countCache.close();
+        }
+        repository.deleteAll();
+    }
+
+    @Test
+    void servesCachedTotalsUntilTheScheduledRefresh() {
+        countCache = new CountCache(100, Duration.ofSeconds(1), 1000);
+        service.setCountCache(countCache);
+
+        CountedPage<Item> first = firstPage();
+        assertThat(first.getTotalElements()).isEqualTo(3);
+        assertThat(first.isTotalEstimated()).isTrue();
+
+        repository.save(new Item("d", 4));
+        assertThat(firstPage().getTotalElements()).isEqualTo(3);
+        assertThat(countCache.missCount()).isEqualTo(1);
+        assertThat(countCache.hitCount()).isEqualTo(1);
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> firstPage().getTotalElements() == 4);
+    }
+
+    @Test
+    void refreshesTotalsAfterWritesThroughTheService() {
+        countCache = new CountCache(100, Duration.ofHours(1), 2);
+        service.setCountCache(countCache);
+        assertThat(firstPage().getTotalElements()).isEqualTo(3);
+
+        service.save(new Item("d", 4));
+        assertThat(firstPage().getTotalElements()).isEqualTo(3);
+        service.save(new Item("e", 5));
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> firstPage().getTotalElements() == 5);
+    }
+
+    @Test
+    void flagsEstimatedTotalsOnlyForUnfilteredCounts() {
+        service.setCountEstimator(type -> OptionalLong.of(1_000_000));
+
+        CountedPage<Item> estimated = firstPage();
+        assertThat(estimated.getTotalElements()).isEqualTo(1_000_000);
+        assertThat(estimated.isTotalEstimated()).isTrue();
+
+        CountedPage<Item> filtered = (CountedPage<Item>) service.findAll(PageRequest.of(0, 2), service.compileFilter("quantity>0"));
+        assertThat(filtered.getTotalElements()).isEqualTo(3);
+        assertThat(filtered.isTotalEstimated()).isFalse();
+    }
+
+    private CountedPage<Item> firstPage() {
+        return (CountedPage<Item>) service.findAll(PageRequest.of(0, 2));
+    }
+}
@@ -0,0 +1,99 @@
+package org.spring.generic.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.spring.generic.exception.InvalidIdException;
+import org.spring.generic.sample.Item;
+import org.spring.generic.sample.ItemController;
+import org.spring.generic.sample.ItemRepository;
+import org.spring.generic.sample.Note;
+import org.spring.generic.sample.NoteController;
+import org.spring.generic.sample.NoteRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class GenericServiceDeleteTest {
+
+    @Autowired
+    private ItemController itemController;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private NoteController noteController;
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Note.REMOVED.set(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        itemRepository.deleteAll();
+        noteRepository.deleteAll();
+    }
+
+    @Test
+    void deletesPlainEntitiesWithOneStatement() {
+        GenericService<Item> service = itemController.service();
+        Long id = itemRepository.save(new Item("a", 1)).getId();
+        assertThat(service.getMetadata().requiresEntityDelete()).isFalse();
+
+        statistics.clear();
+        service.delete(id);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(itemRepository.existsById(id)).isFalse();
+        assertThatThrownBy(() -> service.delete(id)).isInstanceOf(InvalidIdException.class);
+    }
+
+    @Test
+    void deletesBatchesOfPlainEntitiesWithOneStatement() {
+        GenericService<Item> service = itemController.service();
+        List<Long> ids = itemRepository.saveAll(List.of(new Item("a", 1), new Item("b", 2))).stream().map(Item::getId).toList();
+
+        statistics.clear();
+        assertThat(service.deleteAllByIdIn(ids)).isEqualTo(2);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(itemRepository.count()).isZero();
+    }
+
+    @Test
+    void fallsBackToEntityDeleteForRemoveCallbacks() {
+        GenericService<Note> service = noteController.service();
+        Long id = noteRepository.save(new Note("a")).getId();
+        List<Long> ids = noteRepository.saveAll(List.of(new Note("b"), new Note("c"))).stream().map(Note::getId).toList();
+        assertThat(service.getMetadata().requiresEntityDelete()).isTrue();
+
+        statistics.clear();
+        service.delete(id);
+        service.deleteAllByIdIn(ids);
+
+        assertThat(statistics.getEntityDeleteCount()).isEqualTo(3);
+        assertThat(Note.REMOVED).hasValue(3);
+        assertThat(noteRepository.count()).isZero();
+        assertThatThrownBy(() -> service.delete(id)).isInstanceOf(InvalidIdException.class);
+    }
+}
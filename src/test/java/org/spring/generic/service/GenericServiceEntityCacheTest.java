@@ -0,0 +1,79 @@
+package org.spring.generic.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.spring.generic.cache.CaffeineEntityCache;
+import org.spring.generic.exception.InvalidIdException;
+import org.spring.generic.sample.Item;
+import org.spring.generic.sample.ItemController;
+import org.spring.generic.sample.ItemRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class GenericServiceEntityCacheTest {
+
+    @Autowired
+    private ItemController controller;
+
+    @Autowired
+    private ItemRepository repository;
+
+    private GenericService<Item> service;
+
+    private CaffeineEntityCache<Item> cache;
+
+    private Long id;
+
+    @BeforeEach
+    void setUp() {
+        service = controller.service();
+        cache = new CaffeineEntityCache<>(100, Duration.ofMinutes(10));
+        service.setEntityCache(cache);
+        id = repository.save(new Item("cached", 1)).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.setEntityCache(null);
+        repository.deleteAll();
+    }
+
+    @Test
+    void missesOnceThenHitsWithIndependentCopies() {
+        Item first = service.findById(id);
+        Item second = service.findById(id);
+
+        assertThat(cache.missCount()).isEqualTo(1);
+        assertThat(cache.hitCount()).isEqualTo(1);
+        assertThat(second).isNotSameAs(first).isEqualTo(first);
+
+        first.setName("changed by caller");
+        assertThat(service.findById(id).getName()).isEqualTo("cached");
+    }
+
+    @Test
+    void evictsOnUpdate() {
+        Item item = service.findById(id);
+        item.setName("renamed");
+        service.save(item);
+
+        assertThat(service.findById(id).getName()).isEqualTo("renamed");
+        assertThat(cache.missCount()).isEqualTo(2);
+    }
+
+    @Test
+    void evictsOnDelete() {
+        service.findById(id);
+        service.delete(id);
+
+        assertThatThrownBy(() -> service.findById(id)).isInstanceOf(InvalidIdException.class);
+        assertThat(cache.missCount()).isEqualTo(2);
+    }
+}
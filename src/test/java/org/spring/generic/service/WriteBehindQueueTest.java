@@ -0,0 +1,111 @@
+package org.spring.generic.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.spring.generic.exception.TooManyRequestsException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class WriteBehindQueueTest {
+
+    private final List<List<Integer>> batches = Collections.synchronizedList(new ArrayList<>());
+
+    private WriteBehindQueue<Integer> queue;
+
+    @AfterEach
+    void tearDown() {
+        queue.close(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void flushesFullBatchesWithoutWaitingForTheWindow() {
+        queue = new WriteBehindQueue<>("test", 100, 3, Duration.ofHours(1), this::save);
+
+        for (int i = 0; i < 3; i++) {
+            queue.offer(i);
+        }
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> queue.getFlushedRows() == 3);
+        assertThat(batches).containsExactly(List.of(0, 1, 2));
+        assertThat(queue.getDepth()).isZero();
+        assertThat(queue.getFlushCount()).isEqualTo(1);
+    }
+
+    @Test
+    void flushesPartialBatchesAfterTheWindow() {
+        queue = new WriteBehindQueue<>("test", 100, 50, Duration.ofMillis(100), this::save);
+
+        queue.offer(1);
+        queue.offer(2);
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> queue.getFlushedRows() == 2);
+        assertThat(batches).containsExactly(List.of(1, 2));
+    }
+
+    @Test
+    void rejectsEntriesWhenFullOrClosed() {
+        CountDownLatch release = new CountDownLatch(1);
+        queue = new WriteBehindQueue<>("test", 2, 1, Duration.ofHours(1), batch -> {
+            awaitQuietly(release);
+            return save(batch);
+        });
+        queue.offer(1);
+        await().atMost(Duration.ofSeconds(5)).until(() -> queue.getDepth() == 0);
+        queue.offer(2);
+        queue.offer(3);
+
+        assertThatThrownBy(() -> queue.offer(4)).isInstanceOf(TooManyRequestsException.class);
+
+        release.countDown();
+        queue.close(Duration.ofSeconds(5));
+        assertThat(queue.getFlushedRows()).isEqualTo(3);
+        assertThatThrownBy(() -> queue.offer(5)).isInstanceOf(TooManyRequestsException.class);
+    }
+
+    @Test
+    void countsFailedEntries() {
+        Function<List<Integer>, List<BatchResult>> flusher = batch -> {
+            List<BatchResult> results = new ArrayList<>();
+            for (int i = 0; i < batch.size(); i++) {
+                BatchResult.Status status = batch.get(i) < 0 ? BatchResult.Status.INVALID : BatchResult.Status.SAVED;
+                results.add(new BatchResult(i, null, status));
+            }
+            return results;
+        };
+        queue = new WriteBehindQueue<>("test", 100, 3, Duration.ofHours(1), flusher);
+
+        queue.offer(1);
+        queue.offer(-1);
+        queue.offer(2);
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> queue.getFlushCount() == 1);
+        assertThat(queue.getFlushedRows()).isEqualTo(2);
+        assertThat(queue.getFailedRows()).isEqualTo(1);
+    }
+
+    private List<BatchResult> save(List<Integer> batch) {
+        batches.add(List.copyOf(batch));
+        List<BatchResult> results = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            results.add(new BatchResult(i, null, BatchResult.Status.SAVED));
+        }
+        return results;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
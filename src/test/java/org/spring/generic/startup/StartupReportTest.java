@@ -0,0 +1,20 @@
+package org.spring.generic.startup;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.core.metrics.ApplicationStartup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StartupReportTest {
+
+    @Test
+    void buffersOnlyForTheFastStartProfileOrTheReport() {
+        assertThat(StartupReport.applicationStartup()).isSameAs(ApplicationStartup.DEFAULT);
+        assertThat(StartupReport.applicationStartup("--spring.profiles.active=virtual")).isSameAs(ApplicationStartup.DEFAULT);
+        assertThat(StartupReport.applicationStartup("--spring.profiles.active=virtual,fast-start"))
+                .isInstanceOf(BufferingApplicationStartup.class);
+        assertThat(StartupReport.applicationStartup("--generic.startup.report=true"))
+                .isInstanceOf(BufferingApplicationStartup.class);
+    }
+}